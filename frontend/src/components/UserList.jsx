@@ -11,6 +11,8 @@ const UserList = () => {
   const [users, setUsers] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     fetchUsers();
@@ -19,8 +21,9 @@ const UserList = () => {
   const fetchUsers = async () => {
     try {
       setLoading(true);
-      const data = await getUsers();
-      setUsers(data);
+      const page = await getUsers();
+      setUsers(page.users);
+      setNextCursor(page.nextCursor);
     } catch (err) {
       setError('Failed to load users');
       if (err.response?.status === 401) {
@@ -31,6 +34,19 @@ const UserList = () => {
     }
   };
 
+  const loadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const page = await getUsers(nextCursor);
+      setUsers((current) => [...current, ...page.users]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      setError('Failed to load more users');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleDelete = async (id, username) => {
     if (!window.confirm(`Are you sure you want to delete user "${username}"?`)) {
       return;
@@ -112,6 +128,11 @@ const UserList = () => {
                 })}
               </tbody>
             </table>
+            {nextCursor && (
+              <button onClick={loadMore} className="btn btn-primary" disabled={loadingMore} style={{marginTop: '1rem'}}>
+                {loadingMore ? 'Loading...' : 'Load more'}
+              </button>
+            )}
           </div>
         )}
       </div>
@@ -22,15 +22,57 @@ api.interceptors.request.use(
   }
 );
 
-// Response interceptor to handle errors
+// Clear authentication data and send the user back to login
+const clearSession = () => {
+  localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
+  localStorage.removeItem('user');
+  window.location.href = '/login';
+};
+
+// Refresh in flight, shared by every request that fails with 401 while it runs
+let refreshPromise = null;
+
+// Exchange the refresh token once for all concurrent callers (refresh tokens are single-use)
+const refreshAccessToken = () => {
+  if (!refreshPromise) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    refreshPromise = axios.post(`${api.defaults.baseURL}/auth/refresh`, { refreshToken })
+      .then((response) => {
+        localStorage.setItem('token', response.data.token);
+        localStorage.setItem('refreshToken', response.data.refreshToken);
+        return response.data.token;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
+// Response interceptor: renew expired access tokens once with the refresh token
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
+  async (error) => {
+    const original = error.config;
     if (error.response && error.response.status === 401) {
+      if (localStorage.getItem('refreshToken') && original && !original._retried && !original.url.startsWith('/auth/')) {
+        original._retried = true;
+        try {
+          // Sent with a token that has since been renewed: retry with the new one
+          const current = localStorage.getItem('token');
+          const token = original.headers.Authorization === `Bearer ${current}`
+            ? await refreshAccessToken()
+            : current;
+          original.headers.Authorization = `Bearer ${token}`;
+        } catch (refreshError) {
+          clearSession();
+          return Promise.reject(refreshError);
+        }
+        return api(original);
+      }
       // Unauthorized - clear token and redirect to login
-      localStorage.removeItem('token');
-      localStorage.removeItem('user');
-      window.location.href = '/login';
+      clearSession();
     }
     return Promise.reject(error);
   }
@@ -53,6 +95,7 @@ export const login = async (credentials) => {
   const response = await api.post('/auth/login', credentials);
   if (response.data.token) {
     localStorage.setItem('token', response.data.token);
+    localStorage.setItem('refreshToken', response.data.refreshToken);
     localStorage.setItem('user', JSON.stringify({
       userId: response.data.userId,
       username: response.data.username,
@@ -64,19 +107,36 @@ export const login = async (credentials) => {
 };
 
 /**
- * Logout - Clear authentication data
+ * Logout - Revoke token on the server and clear authentication data
+ * The tokens are read before they are cleared, since the request interceptor only runs after this returns.
  */
 export const logout = () => {
+  const token = localStorage.getItem('token');
+  if (token) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    api.post('/auth/logout', refreshToken ? { refreshToken } : undefined, {
+      headers: { Authorization: `Bearer ${token}` },
+    }).catch(() => {});
+  }
   localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
   localStorage.removeItem('user');
 };
 
 /**
- * Get all users
+ * Get one page of users
+ * Pass the nextCursor of the previous page to continue; nextCursor is null on the last page.
  */
-export const getUsers = async () => {
-  const response = await api.get('/users');
-  return response.data;
+export const getUsers = async (cursor = null, size = 50) => {
+  const params = { size };
+  if (cursor) {
+    params.cursor = cursor;
+  }
+  const response = await api.get('/users', { params });
+  return {
+    users: response.data,
+    nextCursor: response.headers['x-next-cursor'] || null,
+  };
 };
 
 /**
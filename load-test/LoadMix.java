@@ -0,0 +1,233 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for the GET /api/users and POST /api/auth/login mix.
+ * Runs with the JDK source launcher, without a build:
+ *
+ *   java load-test/LoadMix.java --base-url http://localhost:8080 --concurrency 400 --duration 60
+ *
+ * Signs up and logs in the test users, then keeps --concurrency clients busy for --warmup plus
+ * --duration seconds. Only requests completed after the warmup are measured. Prints throughput
+ * and latency percentiles per endpoint and writes them as JSON to --out when given.
+ */
+public class LoadMix {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String PASSWORD = "LoadTest@123";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        double loginRatio = Double.parseDouble(options.getOrDefault("login-ratio", "0.1"));
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        String label = options.getOrDefault("label", "run");
+        String out = options.get("out");
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        LoadMix loadMix = new LoadMix(client, baseUrl);
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            tokens.add(loadMix.signUpAndLogin("loadmix" + i));
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+
+        List<Recorder> recorders = new ArrayList<>();
+        List<Future<?>> clients = new ArrayList<>();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Recorder recorder = new Recorder();
+                recorders.add(recorder);
+                int worker = i;
+                clients.add(workers.submit(() -> loadMix.run(worker, users, tokens, loginRatio, measureFrom, end, recorder)));
+            }
+        }
+        for (Future<?> finished : clients) {
+            finished.get();
+        }
+
+        Map<String, Stats> results = new LinkedHashMap<>();
+        results.put("users", Stats.of(recorders.stream().map(r -> r.users).toList(), durationSeconds));
+        results.put("login", Stats.of(recorders.stream().map(r -> r.login).toList(), durationSeconds));
+
+        System.out.printf(Locale.ROOT, "%-8s %-6s %10s %10s %9s %9s %9s %8s %8s%n",
+                "mode", "path", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors", "503s");
+        results.forEach((name, stats) -> System.out.printf(Locale.ROOT,
+                "%-8s %-6s %10d %10.1f %9.1f %9.1f %9.1f %8d %8d%n", label, name, stats.requests,
+                stats.throughput, stats.p50, stats.p99, stats.max, stats.errors, stats.rejected));
+
+        if (out != null) {
+            StringBuilder json = new StringBuilder("{\"mode\":\"" + label + "\",\"concurrency\":" + concurrency
+                    + ",\"durationSeconds\":" + durationSeconds + ",\"loginRatio\":" + loginRatio);
+            results.forEach((name, stats) -> json.append(",\"").append(name).append("\":").append(stats.toJson()));
+            Files.writeString(Path.of(out), json.append("}\n").toString());
+        }
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+
+    private LoadMix(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    private void run(int worker, int users, List<String> tokens, double loginRatio,
+                     long measureFrom, long end, Recorder recorder) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            int user = (worker + random.nextInt(users)) % users;
+            boolean login = random.nextDouble() < loginRatio;
+            HttpRequest request = login ? loginRequest("loadmix" + user) : HttpRequest.newBuilder()
+                    .uri(URI.create(baseUrl + "/api/users?size=20"))
+                    .header("Authorization", "Bearer " + tokens.get(user))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+
+            long started = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long finished = System.nanoTime();
+            if (started >= measureFrom && finished <= end) {
+                (login ? recorder.login : recorder.users).record(finished - started, status);
+            }
+        }
+    }
+
+    private String signUpAndLogin(String username) throws IOException, InterruptedException {
+        // A leftover user from an earlier run answers 400 here, which is fine
+        send(HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/auth/signup"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username + "\",\"email\":\""
+                        + username + "@example.com\",\"password\":\"" + PASSWORD + "\"}"))
+                .build());
+
+        HttpResponse<String> response = send(loginRequest(username));
+        Matcher token = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !token.find()) {
+            throw new IllegalStateException("Login of " + username + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return token.group(1);
+    }
+
+    private HttpRequest loginRequest(String username) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    /**
+     * Latencies of one client, so workers never contend on a shared recorder
+     */
+    private static final class Recorder {
+        final Samples users = new Samples();
+        final Samples login = new Samples();
+    }
+
+    private static final class Samples {
+        long[] nanos = new long[1024];
+        int count;
+        long errors;
+        long rejected;
+
+        void record(long latencyNanos, int status) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latencyNanos;
+            if (status == 503) {
+                rejected++;
+            } else if (status < 200 || status >= 300) {
+                errors++;
+            }
+        }
+    }
+
+    private record Stats(long requests, double throughput, double p50, double p99, double max,
+                         long errors, long rejected) {
+
+        static Stats of(List<Samples> samples, int durationSeconds) {
+            int total = samples.stream().mapToInt(s -> s.count).sum();
+            long[] all = new long[total];
+            int offset = 0;
+            for (Samples s : samples) {
+                System.arraycopy(s.nanos, 0, all, offset, s.count);
+                offset += s.count;
+            }
+            Arrays.sort(all);
+            return new Stats(total, (double) total / durationSeconds, millis(all, 0.50), millis(all, 0.99),
+                    total == 0 ? 0 : all[total - 1] / 1e6,
+                    samples.stream().mapToLong(s -> s.errors).sum(),
+                    samples.stream().mapToLong(s -> s.rejected).sum());
+        }
+
+        private static double millis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT, "{\"requests\":%d,\"throughput\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f,"
+                    + "\"maxMs\":%.2f,\"errors\":%d,\"rejected\":%d}", requests, throughput, p50, p99, max, errors, rejected);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+#!/bin/bash
+
+# Compare platform-thread and virtual-thread request execution under the same load mix
+# (GET /api/users and POST /api/auth/login, see load-test/LoadMix.java).
+#
+# Each mode gets a fresh JVM with the same settings. A JFR recording captures virtual threads
+# pinned to their carrier (jdk.VirtualThreadPinned), and -Djdk.tracePinnedThreads prints the
+# stack of each pinning site into the application log.
+#
+# Tunables (environment): CONCURRENCY, DURATION, WARMUP, LOGIN_RATIO, USERS, PORT,
+# BCRYPT_STRENGTH (pinned so calibration does not differ between runs), APP_ARGS, JAR
+
+set -e
+cd "$(dirname "$0")"
+
+CONCURRENCY=${CONCURRENCY:-400}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-15}
+LOGIN_RATIO=${LOGIN_RATIO:-0.1}
+USERS=${USERS:-50}
+PORT=${PORT:-18080}
+BCRYPT_STRENGTH=${BCRYPT_STRENGTH:-10}
+JAR=${JAR:-target/user-management-app-1.0.0.jar}
+OUT=target/thread-benchmark
+
+if [ ! -f "$JAR" ]; then
+    mvn -q -DskipTests package
+fi
+mkdir -p "$OUT"
+
+run_mode() {
+    local mode=$1
+    local virtual=$2
+
+    echo "=== $mode threads ==="
+    java -Djdk.tracePinnedThreads=short \
+        -XX:StartFlightRecording=filename="$OUT/$mode.jfr",dumponexit=true,jdk.VirtualThreadPinned#threshold=0ms \
+        -jar "$JAR" --server.port="$PORT" \
+        --spring.threads.virtual.enabled="$virtual" \
+        --password.hashing.bcrypt.strength="$BCRYPT_STRENGTH" \
+        $APP_ARGS > "$OUT/$mode-app.log" 2>&1 &
+    local pid=$!
+
+    for _ in $(seq 1 60); do
+        curl -s -o /dev/null "http://localhost:$PORT/actuator/health" && break
+        sleep 1
+    done
+
+    java load-test/LoadMix.java --base-url "http://localhost:$PORT" --label "$mode" \
+        --concurrency "$CONCURRENCY" --duration "$DURATION" --warmup "$WARMUP" \
+        --login-ratio "$LOGIN_RATIO" --users "$USERS" --out "$OUT/$mode.json" | tee "$OUT/$mode.txt"
+
+    kill "$pid"
+    wait "$pid" || true
+
+    local pinned
+    pinned=$(jfr print --events jdk.VirtualThreadPinned "$OUT/$mode.jfr" | grep -c "jdk.VirtualThreadPinned" || true)
+    echo "Pinned virtual threads: $pinned (stacks: grep -A15 '<== monitors' $OUT/$mode-app.log)"
+    echo "pinned=$pinned" >> "$OUT/$mode.txt"
+    echo ""
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo "Results in $OUT (platform.json, virtual.json, *.jfr, *-app.log)"
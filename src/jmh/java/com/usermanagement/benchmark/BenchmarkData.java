@@ -0,0 +1,39 @@
+package com.usermanagement.benchmark;
+
+import com.usermanagement.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixture data shared by the benchmarks
+ */
+final class BenchmarkData {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private BenchmarkData() {
+    }
+
+    static User user(int i) {
+        User user = new User();
+        user.setId((long) i + 1);
+        user.setUsername("user" + i);
+        user.setEmail("user" + i + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2xq7Y3a1kJ8bHc9dQkR2m7K");
+        user.setRole(i % 10 == 0 ? "ADMIN" : "USER");
+        user.setPhoneNumber("+1-555-" + String.format("%04d", i % 10000));
+        user.setDateOfBirth("1990-01-01");
+        user.setCreatedAt(CREATED_AT.plusMinutes(i));
+        return user;
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+}
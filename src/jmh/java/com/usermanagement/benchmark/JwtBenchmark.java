@@ -0,0 +1,72 @@
+package com.usermanagement.benchmark;
+
+import com.usermanagement.config.JwtKeyStore;
+import com.usermanagement.config.JwtUtil;
+import com.usermanagement.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT Benchmarks
+ * Token generation and validation, with validation measured against a warm verified-token cache
+ * and with the cache disabled so every call pays for the ES256 signature check
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final int TOKEN_COUNT = 4096;
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private User user;
+    private String cachedToken;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        JwtKeyStore keyStore = new JwtKeyStore("", "", "", 10000);
+        cachingJwtUtil = new JwtUtil(keyStore, 10000, 900000);
+        uncachedJwtUtil = new JwtUtil(keyStore, 0, 900000);
+        user = BenchmarkData.user(1);
+
+        cachedToken = cachingJwtUtil.generateToken(user);
+        cachingJwtUtil.validateToken(cachedToken, user.getUsername());
+
+        tokens = new String[TOKEN_COUNT];
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            tokens[i] = uncachedJwtUtil.generateToken(BenchmarkData.user(i));
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachingJwtUtil.validateToken(cachedToken, user.getUsername());
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        next = (next + 1) & (TOKEN_COUNT - 1);
+        return uncachedJwtUtil.validateToken(tokens[next]);
+    }
+}
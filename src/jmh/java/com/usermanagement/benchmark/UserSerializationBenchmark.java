@@ -0,0 +1,65 @@
+package com.usermanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.usermanagement.dto.UserDTO;
+import com.usermanagement.entity.User;
+import com.usermanagement.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User Serialization Benchmark
+ * Entity to DTO conversion and Jackson serialization of the user list returned by GET /api/users,
+ * using the same date handling as the application's ObjectMapper
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserSerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private UserService userService;
+    private List<User> entities;
+    private ObjectMapper objectMapper;
+    private List<UserDTO> users;
+
+    @Setup
+    public void setUp() {
+        // convertToDTO does not touch any collaborator
+        userService = new UserService(null, null, null, null, null, null, null, new SimpleMeterRegistry());
+        entities = BenchmarkData.users(size);
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        users = entities.stream().map(userService::convertToDTO).toList();
+    }
+
+    @Benchmark
+    public List<UserDTO> convertToDTO() {
+        return entities.stream().map(userService::convertToDTO).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeUserList() throws Exception {
+        return objectMapper.writeValueAsBytes(users);
+    }
+}
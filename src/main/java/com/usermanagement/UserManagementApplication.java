@@ -2,12 +2,14 @@ package com.usermanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Spring Boot Application class for User Management System
  * This class bootstraps the entire Spring Boot application
  */
 @SpringBootApplication
+@EnableScheduling
 public class UserManagementApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,365 @@
+package com.usermanagement.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Access Log
+ * One JSON line per request (method, path, status, user id, trace id, duration and stage
+ * timings) written to a size-rolled file by a single background thread.
+ *
+ * Request threads copy their record into a preallocated slot of a bounded ring buffer and return;
+ * formatting and file IO happen on the writer thread, which drains the buffer in batches and
+ * flushes once per batch. When the buffer is full the record is dropped and counted instead of
+ * blocking the request (access.log.dropped), and the writer notes the losses in the file.
+ * access.log.pending is the number of records waiting to be written.
+ */
+public class AccessLog implements AutoCloseable {
+
+    static final String METRIC_NAME = "access.log";
+    static final int MAX_STAGES = 8;
+
+    private static final Logger log = LoggerFactory.getLogger(AccessLog.class);
+
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported;
+
+    private final Path file;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long maxFileBytes;
+    private final int maxHistory;
+    private final StringBuilder batch = new StringBuilder();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    private Writer out;
+    private long fileBytes;
+
+    /**
+     * @param capacity slots in the ring buffer, rounded up to a power of two
+     */
+    public AccessLog(Path file, int capacity, int batchSize, long flushIntervalMillis, long maxFileBytes,
+                     int maxHistory, MeterRegistry meterRegistry) throws IOException {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.slots = new Slot[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.file = file;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.maxFileBytes = maxFileBytes;
+        this.maxHistory = maxHistory;
+
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        open();
+
+        this.writerThread = Thread.ofPlatform().name("access-log-writer").daemon().unstarted(this::run);
+
+        FunctionCounter.builder(METRIC_NAME + ".dropped", dropped, LongAdder::sum)
+                .description("Access log records dropped because the buffer was full")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".pending", this, AccessLog::pending)
+                .description("Access log records waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start the writer thread
+     */
+    public void start() {
+        writerThread.start();
+    }
+
+    /**
+     * Queue one request record without blocking
+     *
+     * @return false if the buffer was full and the record was dropped
+     */
+    public boolean append(long timestampMillis, String method, String path, int status, Long userId,
+                          String traceId, long durationNanos, RequestTimings timings) {
+        if (!running) {
+            dropped.increment();
+            return false;
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index].fill(timestampMillis, method, path, status, userId, traceId, durationNanos, timings);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                dropped.increment();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    long pending() {
+        return tail.get() - head;
+    }
+
+    /**
+     * Stop accepting records, write what is buffered and close the file
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        if (writerThread.isAlive()) {
+            LockSupport.unpark(writerThread);
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } else {
+            // Never started: write what was buffered from the caller's thread
+            run();
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                boolean stopping = !running;
+                int written = drain();
+                if (written == 0 && stopping) {
+                    return;
+                }
+                if (written == 0) {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+            }
+        } finally {
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.warn("Could not close access log {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Format up to one batch of records and write them with a single flush
+     */
+    private int drain() {
+        batch.setLength(0);
+        long position = head;
+        int count = 0;
+        while (count < batchSize) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            slots[index].format(batch);
+            slots[index].release();
+            sequences.set(index, position + slots.length);
+            position++;
+            count++;
+        }
+        head = position;
+
+        long droppedTotal = dropped.sum();
+        if (droppedTotal != droppedReported) {
+            batch.append("{\"time\":\"");
+            DateTimeFormatter.ISO_INSTANT.formatTo(Instant.now(), batch);
+            batch.append("\",\"dropped\":").append(droppedTotal - droppedReported).append("}\n");
+            droppedReported = droppedTotal;
+        }
+
+        if (!batch.isEmpty()) {
+            try {
+                out.append(batch);
+                out.flush();
+                fileBytes += batch.length();
+                if (fileBytes >= maxFileBytes) {
+                    roll();
+                }
+            } catch (IOException e) {
+                log.warn("Could not write {} access log records to {}", count, file, e);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Move access.log to access.log.1 (shifting older files up to max-history) and start a new file
+     */
+    private void roll() throws IOException {
+        out.close();
+        if (maxHistory > 0) {
+            Files.deleteIfExists(history(maxHistory));
+            for (int i = maxHistory - 1; i >= 1; i--) {
+                Path older = history(i);
+                if (Files.exists(older)) {
+                    Files.move(older, history(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, history(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(file);
+        }
+        open();
+    }
+
+    private Path history(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void open() throws IOException {
+        out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileBytes = Files.size(file);
+    }
+
+    /**
+     * One preallocated ring buffer entry; stage arrays are reused so appending does not allocate
+     */
+    private static final class Slot implements RequestTimings.StageConsumer {
+        private long timestampMillis;
+        private String method;
+        private String path;
+        private int status;
+        private Long userId;
+        private String traceId;
+        private long durationNanos;
+        private int stageCount;
+        private final String[] stageNames = new String[MAX_STAGES];
+        private final int[] stageCalls = new int[MAX_STAGES];
+        private final long[] stageNanos = new long[MAX_STAGES];
+
+        void fill(long timestampMillis, String method, String path, int status, Long userId,
+                  String traceId, long durationNanos, RequestTimings timings) {
+            this.timestampMillis = timestampMillis;
+            this.method = method;
+            this.path = path;
+            this.status = status;
+            this.userId = userId;
+            this.traceId = traceId;
+            this.durationNanos = durationNanos;
+            this.stageCount = 0;
+            if (timings != null) {
+                timings.forEachStage(this);
+            }
+        }
+
+        @Override
+        public void accept(String name, int calls, long nanos) {
+            if (stageCount < MAX_STAGES) {
+                stageNames[stageCount] = name;
+                stageCalls[stageCount] = calls;
+                stageNanos[stageCount] = nanos;
+                stageCount++;
+            }
+        }
+
+        void format(StringBuilder line) {
+            line.append("{\"time\":\"");
+            DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(timestampMillis), line);
+            line.append("\",\"method\":");
+            appendString(line, method);
+            line.append(",\"path\":");
+            appendString(line, path);
+            line.append(",\"status\":").append(status);
+            if (userId != null) {
+                line.append(",\"userId\":").append(userId.longValue());
+            }
+            if (traceId != null) {
+                line.append(",\"traceId\":");
+                appendString(line, traceId);
+            }
+            line.append(",\"durationMs\":");
+            appendMillis(line, durationNanos);
+            if (stageCount > 0) {
+                line.append(",\"stages\":{");
+                for (int i = 0; i < stageCount; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    appendString(line, stageNames[i]);
+                    line.append(":{\"ms\":");
+                    appendMillis(line, stageNanos[i]);
+                    line.append(",\"calls\":").append(stageCalls[i]).append('}');
+                }
+                line.append('}');
+            }
+            line.append("}\n");
+        }
+
+        /**
+         * Drop references so a drained slot does not keep request strings alive
+         */
+        void release() {
+            method = null;
+            path = null;
+            userId = null;
+            traceId = null;
+            for (int i = 0; i < stageCount; i++) {
+                stageNames[i] = null;
+            }
+        }
+    }
+
+    static void appendMillis(StringBuilder line, long nanos) {
+        long micros = nanos / 1_000;
+        line.append(micros / 1_000).append('.');
+        long fraction = micros % 1_000;
+        if (fraction < 100) {
+            line.append('0');
+        }
+        if (fraction < 10) {
+            line.append('0');
+        }
+        line.append(fraction);
+    }
+
+    static void appendString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,44 @@
+package com.usermanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Access Log Configuration
+ * Enabled with access-log.enabled=true. Registers {@link AccessLogFilter} right after
+ * {@link ServerTimingFilter} and starts the {@link AccessLog} writer thread; the buffer is
+ * drained and the file closed on shutdown.
+ */
+@Configuration
+@ConditionalOnProperty(name = "access-log.enabled", havingValue = "true")
+public class AccessLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public AccessLog accessLog(MeterRegistry meterRegistry,
+                               @Value("${access-log.file:logs/access.log}") String file,
+                               @Value("${access-log.buffer-size:8192}") int bufferSize,
+                               @Value("${access-log.batch-size:512}") int batchSize,
+                               @Value("${access-log.flush-interval-ms:200}") long flushIntervalMillis,
+                               @Value("${access-log.max-file-size-mb:50}") long maxFileSizeMegabytes,
+                               @Value("${access-log.max-history:5}") int maxHistory) throws IOException {
+        AccessLog accessLog = new AccessLog(Path.of(file), bufferSize, batchSize, flushIntervalMillis,
+                maxFileSizeMegabytes * 1024 * 1024, maxHistory, meterRegistry);
+        accessLog.start();
+        return accessLog;
+    }
+
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(AccessLog accessLog) {
+        FilterRegistrationBean<AccessLogFilter> registration = new FilterRegistrationBean<>(new AccessLogFilter(accessLog));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
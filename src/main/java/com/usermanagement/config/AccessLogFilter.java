@@ -0,0 +1,51 @@
+package com.usermanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Access Log Filter
+ * Hands one record per request to {@link AccessLog}. Runs just inside {@link ServerTimingFilter}
+ * and shares its stage timings and trace id; when that filter is off or skips the path, this
+ * filter collects the stages itself.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLog accessLog;
+
+    public AccessLogFilter(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        RequestTimings timings = RequestTimings.current();
+        boolean ownTimings = timings == null;
+        if (ownTimings) {
+            timings = RequestTimings.start(null);
+        }
+
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            timings.end();
+            if (ownTimings) {
+                RequestTimings.clear();
+            }
+            int status = completed ? response.getStatus() : HttpStatus.INTERNAL_SERVER_ERROR.value();
+            accessLog.append(timestamp, request.getMethod(), request.getRequestURI(), status,
+                    timings.getUserId(), timings.getTraceId(), System.nanoTime() - start, timings);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.usermanagement.config;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication Metrics
+ * jwt.verify times bearer token verification per request (signature, expiry, claims and revocation
+ * check), tagged with outcome success or the failure reason. auth.failures counts every rejected
+ * token, login and refresh by reason. All meters are registered up front so rates start at zero.
+ * Verification time also goes to the request's Server-Timing header when that is enabled.
+ */
+@Component
+public class AuthMetrics {
+
+    static final String VERIFY_METRIC = "jwt.verify";
+    static final String FAILURES_METRIC = "auth.failures";
+
+    public enum Reason {
+        EXPIRED_TOKEN,
+        INVALID_SIGNATURE,
+        MALFORMED_TOKEN,
+        INVALID_CLAIMS,
+        REVOKED_TOKEN,
+        BAD_CREDENTIALS,
+        THROTTLED,
+        INVALID_REFRESH_TOKEN;
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Reason for a token that failed verification
+         */
+        public static Reason of(RuntimeException e) {
+            if (e instanceof ExpiredJwtException) {
+                return EXPIRED_TOKEN;
+            }
+            if (e instanceof SecurityException) {
+                return INVALID_SIGNATURE;
+            }
+            if (e instanceof JwtException) {
+                return MALFORMED_TOKEN;
+            }
+            return INVALID_CLAIMS;
+        }
+    }
+
+    private static final Set<Reason> TOKEN_REASONS = EnumSet.of(Reason.EXPIRED_TOKEN, Reason.INVALID_SIGNATURE,
+            Reason.MALFORMED_TOKEN, Reason.INVALID_CLAIMS, Reason.REVOKED_TOKEN);
+
+    private final Timer verified;
+    private final Map<Reason, Timer> rejected = new EnumMap<>(Reason.class);
+    private final Map<Reason, Counter> failures = new EnumMap<>(Reason.class);
+
+    @Autowired
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.verified = verifyTimer(meterRegistry, "success");
+        for (Reason reason : Reason.values()) {
+            failures.put(reason, Counter.builder(FAILURES_METRIC)
+                    .description("Rejected authentication attempts")
+                    .tag("reason", reason.tag())
+                    .register(meterRegistry));
+        }
+        for (Reason reason : TOKEN_REASONS) {
+            rejected.put(reason, verifyTimer(meterRegistry, reason.tag()));
+        }
+    }
+
+    /**
+     * Record one bearer token verification
+     *
+     * @param failure why the token was rejected (one of the token reasons), or null if it was accepted
+     */
+    public void recordTokenVerification(long nanos, Reason failure) {
+        RequestTimings.record(VERIFY_METRIC, nanos);
+        if (failure == null) {
+            verified.record(nanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        rejected.get(failure).record(nanos, TimeUnit.NANOSECONDS);
+        recordFailure(failure);
+    }
+
+    /**
+     * Count a rejected authentication attempt
+     */
+    public void recordFailure(Reason reason) {
+        failures.get(reason).increment();
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(VERIFY_METRIC)
+                .description("Bearer token verification")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
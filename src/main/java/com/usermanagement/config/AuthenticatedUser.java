@@ -0,0 +1,57 @@
+package com.usermanagement.config;
+
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Authenticated User Principal
+ * Built straight from verified JWT claims so authenticated requests need no database lookup
+ */
+@Value
+public class AuthenticatedUser implements Principal {
+    Long id;
+    String username;
+    String role;
+    int tokenVersion;
+
+    /**
+     * Build principal from a verified token
+     *
+     * @throws IllegalArgumentException if the token does not carry the expected claims
+     */
+    public static AuthenticatedUser fromToken(VerifiedToken token) {
+        Object id = token.getClaims().get(JwtUtil.CLAIM_USER_ID);
+        Object role = token.getClaims().get(JwtUtil.CLAIM_ROLE);
+        Object version = token.getClaims().get(JwtUtil.CLAIM_TOKEN_VERSION);
+        if (!(id instanceof Number) || !(role instanceof String) || !(version instanceof Number)) {
+            throw new IllegalArgumentException("Token is missing user claims");
+        }
+        return new AuthenticatedUser(
+                ((Number) id).longValue(),
+                token.getSubject(),
+                (String) role,
+                ((Number) version).intValue()
+        );
+    }
+
+    /**
+     * Check if this user has the ADMIN role
+     */
+    public boolean isAdmin() {
+        return "ADMIN".equals(role);
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,131 @@
+package com.usermanagement.config;
+
+import com.usermanagement.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded Password Encoder
+ * Runs every encode/matches call of the wrapped encoder on a dedicated, fixed-size pool with a
+ * bounded queue, so a burst of logins cannot occupy all request threads with CPU-bound hashing.
+ * When pool and queue are full the call fails fast with {@link HashingCapacityExceededException}.
+ *
+ * Metrics (tag name=password.hashing): executor.active, executor.queued, executor.pool.size,
+ * executor.idle (time spent waiting in the queue), executor (hashing time) and password.hashing.rejected.
+ * password.hashing.calls times each accepted call as the caller sees it, queueing included,
+ * tagged with operation encode or matches.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    static final String METRIC_NAME = "password.hashing";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService timedExecutor;
+    private final Counter rejected;
+    private final Timer encodeCalls;
+    private final Timer matchesCalls;
+    private final long retryAfterSeconds;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity,
+                                  long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timedExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, METRIC_NAME);
+        this.rejected = Counter.builder(METRIC_NAME + ".rejected")
+                .description("Password hashing requests rejected because the queue was full")
+                .register(meterRegistry);
+        this.encodeCalls = callTimer(meterRegistry, "encode");
+        this.matchesCalls = callTimer(meterRegistry, "matches");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeCalls, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesCalls, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the hash prefix, cheap enough for the caller's thread
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * The wrapped encoder, for batch work that runs on its own threads
+     */
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Timer calls, Callable<T> task) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = timedExecutor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingCapacityExceededException(retryAfterSeconds);
+        }
+
+        try {
+            T result = future.get();
+            calls.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static Timer callTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder(METRIC_NAME + ".calls")
+                .description("Password hashing calls including time queued for the hashing pool")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
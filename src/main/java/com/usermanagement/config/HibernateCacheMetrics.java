@@ -0,0 +1,42 @@
+package com.usermanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheAccessImpl;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.Region;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate Cache Metrics
+ * Publishes hit, miss, put and eviction counts of every second-level cache region as cache.*
+ * metrics tagged with the region name. Counts come from the JCache statistics, which
+ * application.conf enables per region.
+ */
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheImplementor cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        for (String regionName : cache.getCacheRegionNames()) {
+            Region region = cache.getRegion(regionName);
+            if (region instanceof DomainDataRegionTemplate domainRegion
+                    && domainRegion.getCacheStorageAccess() instanceof JCacheAccessImpl access) {
+                JCacheMetrics.monitor(registry, access.getUnderlyingCache());
+            }
+        }
+    }
+}
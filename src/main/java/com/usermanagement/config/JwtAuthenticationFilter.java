@@ -4,12 +4,11 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -18,18 +17,24 @@ import java.io.IOException;
 
 /**
  * JWT Authentication Filter
- * Intercepts every request to validate JWT token and set authentication context
+ * Intercepts every request to validate JWT token and set authentication context.
+ * The principal is built from verified claims, so no database lookup is made per request.
+ * Verification time and rejected tokens are recorded in {@link AuthMetrics}.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+    private final AuthMetrics authMetrics;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, @Qualifier("userService") UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, TokenRevocationList revocationList, AuthMetrics authMetrics) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.revocationList = revocationList;
+        this.authMetrics = authMetrics;
     }
 
     @Override
@@ -38,29 +43,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        AuthenticatedUser principal = null;
 
-        // Extract JWT token from Authorization header
+        // Extract and verify JWT token from Authorization header (signature and expiry checked once)
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
+            AuthMetrics.Reason failure = null;
+            long start = System.nanoTime();
             try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                System.out.println("Error extracting username from token: " + e.getMessage());
+                VerifiedToken token = jwtUtil.verify(jwt);
+                principal = AuthenticatedUser.fromToken(token);
+
+                // Reject tokens that were logged out or revoked by an admin
+                if (revocationList.isRevoked(token, principal)) {
+                    principal = null;
+                    failure = AuthMetrics.Reason.REVOKED_TOKEN;
+                }
+            } catch (RuntimeException e) {
+                failure = AuthMetrics.Reason.of(e);
+                log.debug("Rejected bearer token ({}): {}", failure.tag(), e.getMessage());
             }
+            authMetrics.recordTokenVerification(System.nanoTime() - start, failure);
         }
 
-        // Validate token and set authentication context
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
-                UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-            }
+        // Set authentication context
+        if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authenticationToken =
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            RequestTimings.authenticated(principal.getId());
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,238 @@
+package com.usermanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * JWT Key Store
+ * Loads ES256 (P-256) signing keys from a local PKCS12 keystore. Every EC key entry is accepted
+ * for verification under its alias as key id, so keys can be rotated with overlap: add the new
+ * key, let all nodes reload, switch the active alias, and remove the old key once its tokens expired.
+ * Without a keystore an ephemeral key is generated, which only suits a single development node.
+ */
+@Component
+public class JwtKeyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyStore.class);
+
+    private final String path;
+    private final char[] password;
+    private final String configuredActiveAlias;
+    private final long unknownKeyReloadIntervalMillis;
+    private final LongSupplier clock;
+    // Earliest time a token with an unknown key id may trigger the next keystore check
+    private final AtomicLong nextUnknownKeyReload = new AtomicLong();
+    // A lock rather than synchronized: the reload reads a file, which would pin a virtual thread's carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Keys keys;
+    private volatile long loadedModifiedTime;
+
+    @Autowired
+    public JwtKeyStore(@Value("${jwt.keystore.path:}") String path,
+                       @Value("${jwt.keystore.password:}") String password,
+                       @Value("${jwt.keystore.active-alias:}") String activeAlias,
+                       @Value("${jwt.keystore.unknown-key-reload-interval-ms:10000}") long unknownKeyReloadIntervalMillis) {
+        this(path, password, activeAlias, unknownKeyReloadIntervalMillis, System::currentTimeMillis);
+    }
+
+    JwtKeyStore(String path, String password, String activeAlias, long unknownKeyReloadIntervalMillis,
+                LongSupplier clock) {
+        this.path = path;
+        this.password = password.toCharArray();
+        this.configuredActiveAlias = activeAlias;
+        this.unknownKeyReloadIntervalMillis = unknownKeyReloadIntervalMillis;
+        this.clock = clock;
+
+        if (path.isBlank()) {
+            log.warn("jwt.keystore.path is not set, signing with an ephemeral key. "
+                    + "Tokens will not survive a restart or be accepted by other nodes.");
+            this.keys = ephemeralKeys();
+        } else {
+            this.keys = load();
+        }
+    }
+
+    /**
+     * Key id of the key used to sign new tokens
+     */
+    public String getActiveKeyId() {
+        return keys.activeKeyId;
+    }
+
+    /**
+     * Private key used to sign new tokens
+     */
+    public PrivateKey getActiveSigningKey() {
+        return keys.privateKeys.get(keys.activeKeyId);
+    }
+
+    /**
+     * Public key for a key id, checking the keystore for changes if the id is unknown
+     * (another node may already sign with a key this node has not picked up yet).
+     * Unknown ids trigger at most one check per jwt.keystore.unknown-key-reload-interval-ms;
+     * in between they are rejected without touching the file or the reload lock.
+     *
+     * @return the key, or null if the id is not in the keystore
+     */
+    public PublicKey getVerificationKey(String keyId) {
+        if (keyId == null) {
+            return null;
+        }
+        PublicKey key = keys.publicKeys.get(keyId);
+        if (key == null && claimUnknownKeyReload()) {
+            reloadIfChanged();
+            key = keys.publicKeys.get(keyId);
+        }
+        return key;
+    }
+
+    /**
+     * Public keys as a JWK Set (RFC 7517)
+     */
+    public Map<String, Object> toJwkSet() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        keys.publicKeys.forEach((keyId, key) -> {
+            ECPublicKey ecKey = (ECPublicKey) key;
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("kid", keyId);
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwk.put("x", base64Url(ecKey.getW().getAffineX()));
+            jwk.put("y", base64Url(ecKey.getW().getAffineY()));
+            jwks.add(jwk);
+        });
+        return Collections.singletonMap("keys", jwks);
+    }
+
+    /**
+     * Pick up rotated keys when the keystore file has changed
+     */
+    @Scheduled(fixedDelayString = "${jwt.keystore.reload-interval-ms:60000}")
+    public void reloadIfChanged() {
+        if (path.isBlank()) {
+            return;
+        }
+        reloadLock.lock();
+        try {
+            if (Files.getLastModifiedTime(Path.of(path)).toMillis() != loadedModifiedTime) {
+                keys = load();
+                log.info("Reloaded JWT keystore, active key id {}", keys.activeKeyId);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.error("Failed to reload JWT keystore {}, keeping current keys", path, e);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private boolean claimUnknownKeyReload() {
+        if (path.isBlank()) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        long next = nextUnknownKeyReload.get();
+        return now >= next && nextUnknownKeyReload.compareAndSet(next, now + unknownKeyReloadIntervalMillis);
+    }
+
+    private Keys load() {
+        Path file = Path.of(path);
+        try (InputStream in = Files.newInputStream(file)) {
+            long modifiedTime = Files.getLastModifiedTime(file).toMillis();
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, password);
+
+            Map<String, PrivateKey> privateKeys = new LinkedHashMap<>();
+            Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+            String newestAlias = null;
+            Date newestNotBefore = null;
+
+            Enumeration<String> aliases = keyStore.aliases();
+            while (aliases.hasMoreElements()) {
+                String alias = aliases.nextElement();
+                if (!keyStore.isKeyEntry(alias) || !(keyStore.getCertificate(alias) instanceof X509Certificate cert)
+                        || !(cert.getPublicKey() instanceof ECPublicKey)) {
+                    continue;
+                }
+                privateKeys.put(alias, (PrivateKey) keyStore.getKey(alias, password));
+                publicKeys.put(alias, cert.getPublicKey());
+
+                // Newest certificate signs by default, alias name breaks ties
+                Date notBefore = cert.getNotBefore();
+                if (newestAlias == null || notBefore.after(newestNotBefore)
+                        || (notBefore.equals(newestNotBefore) && alias.compareTo(newestAlias) > 0)) {
+                    newestAlias = alias;
+                    newestNotBefore = notBefore;
+                }
+            }
+
+            String activeKeyId = configuredActiveAlias.isBlank() ? newestAlias : configuredActiveAlias;
+            if (activeKeyId == null || !privateKeys.containsKey(activeKeyId)) {
+                throw new IllegalStateException("JWT keystore " + path + " has no EC signing key "
+                        + (configuredActiveAlias.isBlank() ? "" : "with alias " + configuredActiveAlias));
+            }
+
+            loadedModifiedTime = modifiedTime;
+            return new Keys(activeKeyId, privateKeys, publicKeys);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot load JWT keystore " + path, e);
+        }
+    }
+
+    private static Keys ephemeralKeys() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+            String keyId = "ephemeral-" + UUID.randomUUID();
+            return new Keys(keyId, Map.of(keyId, keyPair.getPrivate()), Map.of(keyId, keyPair.getPublic()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate EC key pair", e);
+        }
+    }
+
+    // Unsigned, left-padded 32-byte coordinate as required for P-256 JWKs
+    private static String base64Url(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] padded = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, padded, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(padded);
+    }
+
+    private record Keys(String activeKeyId, Map<String, PrivateKey> privateKeys, Map<String, PublicKey> publicKeys) {
+    }
+}
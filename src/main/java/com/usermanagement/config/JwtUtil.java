@@ -1,76 +1,157 @@
 package com.usermanagement.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.usermanagement.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
  * JWT Utility Class
- * Handles JWT token generation, validation, and extraction
+ * Handles JWT token generation, validation, and extraction.
+ * Tokens are signed with ES256 and carry the signing key id in the "kid" header.
  */
 @Component
 public class JwtUtil {
 
-    // Secret key for signing JWT tokens (in production, use environment variable)
-    private final SecretKey SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    // Signing keys loaded from the keystore, shared by every node
+    private final JwtKeyStore keyStore;
 
-    // Token validity: 24 hours
-    private static final long JWT_TOKEN_VALIDITY = 24 * 60 * 60 * 1000;
+    // Access token validity: short-lived, clients renew through the refresh token flow
+    private final long accessTokenValidityMillis;
 
-    /**
-     * Extract username from JWT token
-     */
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    // Custom claims carried by every token
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    // Parser is thread-safe, so build it once instead of per token
+    private final JwtParser jwtParser;
+
+    // Verified tokens keyed by SHA-256 digest, each entry expires with its token
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    @Autowired
+    public JwtUtil(JwtKeyStore keyStore,
+                   @Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+                   @Value("${jwt.access-token-validity-ms:900000}") long accessTokenValidityMillis) {
+        this.keyStore = keyStore;
+        this.accessTokenValidityMillis = accessTokenValidityMillis;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyStore.getVerificationKey(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("Unknown signing key id: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long remainingMillis = token.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     /**
-     * Extract expiration date from JWT token
+     * Verify JWT token signature and expiry once and return its contents.
+     * Repeated calls with the same token are served from the cache.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
      */
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public VerifiedToken verify(String token) {
+        String key = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            if (cached.isExpired()) {
+                verifiedTokens.invalidate(key);
+                throw new ExpiredJwtException(null, null, "JWT expired at " + cached.getExpiration());
+            }
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        VerifiedToken verified = new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.getExpiration(),
+                Collections.unmodifiableMap(new HashMap<>(claims))
+        );
+        verifiedTokens.put(key, verified);
+        return verified;
     }
 
     /**
-     * Extract specific claim from JWT token
+     * Extract username from JWT token
      */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public String extractUsername(String token) {
+        return verify(token).getSubject();
     }
 
     /**
-     * Extract all claims from JWT token
+     * Extract expiration date from JWT token
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Date extractExpiration(String token) {
+        return verify(token).getExpiration();
     }
 
     /**
-     * Check if token is expired
+     * Extract specific claim from JWT token
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public <T> T extractClaim(String token, Function<Map<String, Object>, T> claimsResolver) {
+        return claimsResolver.apply(verify(token).getClaims());
     }
 
     /**
-     * Generate JWT token for a user
+     * Generate JWT token for a user, embedding id, role and token version
      */
-    public String generateToken(String username) {
+    public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, username);
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole());
+        claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        return createToken(claims, user.getUsername());
     }
 
     /**
@@ -78,20 +159,33 @@ public class JwtUtil {
      */
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyStore.getActiveKeyId())
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_TOKEN_VALIDITY))
-                .signWith(SECRET_KEY)
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenValidityMillis))
+                .signWith(keyStore.getActiveSigningKey(), SignatureAlgorithm.ES256)
                 .compact();
     }
 
+    /**
+     * Longest lifetime of any token issued by this instance
+     */
+    public long getTokenValidityMillis() {
+        return accessTokenValidityMillis;
+    }
+
     /**
      * Validate JWT token
      */
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        try {
+            VerifiedToken verified = verify(token);
+            return verified.getSubject().equals(username) && !verified.isExpired();
+        } catch (Exception e) {
+            return false;
+        }
     }
 
     /**
@@ -99,9 +193,22 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token) {
         try {
-            return !isTokenExpired(token);
+            return !verify(token).isExpired();
         } catch (Exception e) {
             return false;
         }
     }
+
+    /**
+     * Hash token so cache keys stay small and raw tokens are not retained
+     */
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
@@ -0,0 +1,130 @@
+package com.usermanagement.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Login Attempt Throttle
+ * Tracks failed logins per username and per client IP so over-limit attempts are rejected
+ * before any password hash is computed. Each key holds an exponentially decaying failure score
+ * updated with compare-and-set; once the score passes the limit, every further failure doubles
+ * the lockout up to a maximum. Keys live in a size-bounded Caffeine cache, so a flood of
+ * distinct usernames evicts old entries instead of growing memory.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private static final Attempts NO_ATTEMPTS = new Attempts(0, 0, 0);
+
+    private final Cache<String, AtomicReference<Attempts>> attempts;
+    private final int usernameLimit;
+    private final int ipLimit;
+    private final double decayPerMilli;
+    private final long baseLockoutMillis;
+    private final long maxLockoutMillis;
+    private final LongSupplier clock;
+    private final Counter throttled;
+
+    @Autowired
+    public LoginAttemptThrottle(@Value("${login.throttle.max-entries:100000}") long maxEntries,
+                                @Value("${login.throttle.username-limit:5}") int usernameLimit,
+                                @Value("${login.throttle.ip-limit:20}") int ipLimit,
+                                @Value("${login.throttle.half-life-ms:600000}") long halfLifeMillis,
+                                @Value("${login.throttle.base-lockout-ms:1000}") long baseLockoutMillis,
+                                @Value("${login.throttle.max-lockout-ms:900000}") long maxLockoutMillis,
+                                MeterRegistry meterRegistry) {
+        this(maxEntries, usernameLimit, ipLimit, halfLifeMillis, baseLockoutMillis, maxLockoutMillis,
+                meterRegistry, System::currentTimeMillis);
+    }
+
+    LoginAttemptThrottle(long maxEntries, int usernameLimit, int ipLimit, long halfLifeMillis,
+                         long baseLockoutMillis, long maxLockoutMillis, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.usernameLimit = usernameLimit;
+        this.ipLimit = ipLimit;
+        this.decayPerMilli = Math.log(2) / halfLifeMillis;
+        this.baseLockoutMillis = baseLockoutMillis;
+        this.maxLockoutMillis = maxLockoutMillis;
+        this.clock = clock;
+        // Entries decayed to almost nothing after a few half-lives carry no information
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Math.max(halfLifeMillis * 4, maxLockoutMillis), TimeUnit.MILLISECONDS)
+                .build();
+        this.throttled = Counter.builder("login.throttled")
+                .description("Login attempts rejected before password verification")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Time until the next login attempt for this username and client is allowed
+     *
+     * @return 0 if the attempt may proceed, otherwise the remaining lockout in milliseconds
+     */
+    public long retryAfterMillis(String username, String clientIp) {
+        long now = clock.getAsLong();
+        long retryAfter = Math.max(remainingLockout(usernameKey(username), now), remainingLockout(ipKey(clientIp), now));
+        if (retryAfter > 0) {
+            throttled.increment();
+        }
+        return retryAfter;
+    }
+
+    /**
+     * Record a failed attempt against both the username and the client IP
+     */
+    public void recordFailure(String username, String clientIp) {
+        long now = clock.getAsLong();
+        recordFailure(usernameKey(username), usernameLimit, now);
+        recordFailure(ipKey(clientIp), ipLimit, now);
+    }
+
+    /**
+     * Clear the username's failures after a successful login; the IP score keeps decaying on its own
+     */
+    public void recordSuccess(String username) {
+        attempts.invalidate(usernameKey(username));
+    }
+
+    private long remainingLockout(String key, long now) {
+        AtomicReference<Attempts> entry = attempts.getIfPresent(key);
+        return entry == null ? 0 : Math.max(entry.get().blockedUntil - now, 0);
+    }
+
+    private void recordFailure(String key, int limit, long now) {
+        AtomicReference<Attempts> entry = attempts.get(key, k -> new AtomicReference<>(NO_ATTEMPTS));
+        Attempts current;
+        Attempts updated;
+        do {
+            current = entry.get();
+            double score = current.score * Math.exp(-decayPerMilli * (now - current.updatedAt)) + 1;
+            long blockedUntil = current.blockedUntil;
+            if (score > limit) {
+                int doublings = (int) Math.min(Math.ceil(score - limit) - 1, 30);
+                long lockout = Math.min(baseLockoutMillis << doublings, maxLockoutMillis);
+                blockedUntil = Math.max(blockedUntil, now + lockout);
+            }
+            updated = new Attempts(score, now, blockedUntil);
+        } while (!entry.compareAndSet(current, updated));
+    }
+
+    private static String usernameKey(String username) {
+        return "u:" + (username == null ? "" : username.toLowerCase(Locale.ROOT));
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+
+    private record Attempts(double score, long updatedAt, long blockedUntil) {
+    }
+}
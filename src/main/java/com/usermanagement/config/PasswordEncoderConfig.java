@@ -1,19 +1,85 @@
 package com.usermanagement.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
 /**
  * Password Encoder Configuration
- * Separate configuration to avoid circular dependencies
+ * Separate configuration to avoid circular dependencies.
+ * Hashing runs on a bounded pool sized to the CPU count unless configured otherwise.
+ * The BCrypt cost is calibrated at startup so one verification takes about the target latency
+ * on this node, and hashes are stored with an algorithm prefix ({bcrypt}) so the algorithm or
+ * its cost can change later; older hashes are upgraded on the next successful login.
  */
 @Configuration
 public class PasswordEncoderConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    static final String BCRYPT_ID = "bcrypt";
+
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    private static final int CALIBRATION_ROUNDS = 3;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${password.hashing.pool-size:0}") int poolSize,
+                                           @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${password.hashing.retry-after-seconds:1}") long retryAfterSeconds,
+                                           @Value("${password.hashing.bcrypt.strength:0}") int strength,
+                                           @Value("${password.hashing.target-latency-ms:250}") long targetLatencyMillis,
+                                           @Value("${password.hashing.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${password.hashing.bcrypt.max-strength:14}") int maxStrength) {
+        int bcryptStrength = strength > 0 ? strength : calibrateBCryptStrength(targetLatencyMillis, minStrength, maxStrength);
+        log.info("Password hashing uses BCrypt with strength {}", bcryptStrength);
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegatingEncoder(bcryptStrength), threads, queueCapacity,
+                retryAfterSeconds, meterRegistry);
+    }
+
+    /**
+     * Encoder writing {bcrypt}-prefixed hashes; unprefixed hashes from before the prefix was
+     * introduced still verify and are reported by upgradeEncoding so they get rewritten
+     */
+    static PasswordEncoder delegatingEncoder(int bcryptStrength) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID,
+                Map.of(BCRYPT_ID, new BCryptPasswordEncoder(bcryptStrength)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+
+    /**
+     * Highest BCrypt strength whose verification stays within the target latency.
+     * Each step doubles the work, so the cost is extrapolated from the best of a few
+     * measurements at the minimum strength.
+     */
+    static int calibrateBCryptStrength(long targetLatencyMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        String hash = encoder.encode(CALIBRATION_PASSWORD);
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.matches(CALIBRATION_PASSWORD, hash);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        double ratio = (targetLatencyMillis * 1_000_000.0) / Math.max(bestNanos, 1);
+        int extraRounds = ratio > 1 ? (int) Math.floor(Math.log(ratio) / Math.log(2)) : 0;
+        int strength = Math.min(minStrength + extraRounds, maxStrength);
+
+        log.info("Calibrated BCrypt strength {} for a {} ms target (strength {} took {} ms)",
+                strength, targetLatencyMillis, minStrength, bestNanos / 1_000_000);
+        return strength;
     }
 }
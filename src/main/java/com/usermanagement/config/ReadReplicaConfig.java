@@ -0,0 +1,113 @@
+package com.usermanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read Replica Configuration
+ * Enabled with datasource.routing.enabled=true. The application DataSource becomes a routing
+ * DataSource over one pool for the primary (spring.datasource.*) and one read-only pool per
+ * replica URL (datasource.replica.urls, same credentials and spring.datasource.hikari settings).
+ * Unless the primary is an in-memory H2 database, startup fails when no replica URL is set or a
+ * replica URL still points at the in-memory stand-in.
+ * Pool metrics are published as hikaricp.* tagged with the pool name.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final String H2_IN_MEMORY = "jdbc:h2:mem:";
+
+    @Bean
+    public ReadYourWritesWindow readYourWritesWindow(@Value("${datasource.routing.read-your-writes-ms:5000}") long windowMillis,
+                                                     @Value("${datasource.routing.max-tracked-users:100000}") long maxEntries) {
+        return new ReadYourWritesWindow(windowMillis, maxEntries);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties properties, Environment environment,
+                                                        MeterRegistry meterRegistry, ReadYourWritesWindow readYourWritesWindow,
+                                                        @Value("${datasource.replica.urls:}") List<String> replicaUrls) {
+        HikariDataSource primary = pool(properties, environment, meterRegistry, ReadWriteRoutingDataSource.PRIMARY,
+                properties.determineUrl());
+        primary.setReadOnly(false);
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : validReplicaUrls(properties.determineUrl(), replicaUrls)) {
+            HikariDataSource replica = pool(properties, environment, meterRegistry,
+                    "replica-" + (replicas.size() + 1), url);
+            // Any write that reaches a replica fails instead of diverging from the primary
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, readYourWritesWindow);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Hibernate would otherwise keep a session's first connection for the whole request
+     * (open-session-in-view), so a read-only transaction could pin it to a replica for later writes
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Replica URLs without blanks, refusing a real primary paired with no replicas or with the
+     * in-memory stand-in (e.g. the replicas profile's default when DB_REPLICA_URLS is not set)
+     */
+    static List<String> validReplicaUrls(String primaryUrl, List<String> replicaUrls) {
+        List<String> urls = replicaUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        if (primaryUrl == null || primaryUrl.startsWith(H2_IN_MEMORY)) {
+            return urls;
+        }
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("datasource.routing.enabled is set but datasource.replica.urls "
+                    + "is empty; set DB_REPLICA_URLS to the replica JDBC URLs");
+        }
+        for (String url : urls) {
+            if (url.startsWith(H2_IN_MEMORY)) {
+                throw new IllegalStateException("Replica URL " + url + " is an in-memory database but the primary "
+                        + "is " + primaryUrl + "; set DB_REPLICA_URLS to the replica JDBC URLs");
+            }
+        }
+        return urls;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment,
+                                         MeterRegistry meterRegistry, String name, String url) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
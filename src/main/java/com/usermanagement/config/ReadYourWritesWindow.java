@@ -0,0 +1,64 @@
+package com.usermanagement.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-Your-Writes Window
+ * Remembers which authenticated users wrote through the primary database in the last few
+ * seconds, so their own reads keep going to the primary until replicas have caught up.
+ * Other users' reads are unaffected. The window is local to this node.
+ */
+public class ReadYourWritesWindow {
+
+    private final Cache<Long, Long> lastWrites;
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    public ReadYourWritesWindow(long windowMillis, long maxEntries) {
+        this(windowMillis, maxEntries, System::currentTimeMillis);
+    }
+
+    ReadYourWritesWindow(long windowMillis, long maxEntries, LongSupplier clock) {
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+        this.lastWrites = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Math.max(windowMillis, 1), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Record that the current user is writing; anonymous writes are not tracked
+     */
+    public void recordWrite() {
+        Long userId = currentUserId();
+        if (userId != null && windowMillis > 0) {
+            lastWrites.put(userId, clock.getAsLong());
+        }
+    }
+
+    /**
+     * Whether the current user wrote recently enough that replicas may not show it yet
+     */
+    public boolean isOpen() {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.getIfPresent(userId);
+        return writtenAt != null && clock.getAsLong() - writtenAt < windowMillis;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                ? user.getId()
+                : null;
+    }
+}
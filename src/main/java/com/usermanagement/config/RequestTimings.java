@@ -0,0 +1,145 @@
+package com.usermanagement.config;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Request Timings
+ * Per-stage durations of the current request, emitted as a Server-Timing header by
+ * {@link ServerTimingFilter} and written to the access log by {@link AccessLogFilter}, together
+ * with the authenticated user. Stages are only collected while one of those filters has started
+ * timing on the current thread; otherwise {@link #record} is a ThreadLocal lookup that returns
+ * immediately.
+ */
+public final class RequestTimings {
+
+    public static final String DB = "db";
+    static final String HANDLER = "handler";
+    static final String SERIALIZE = "serialize";
+    static final String TOTAL = "total";
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final String traceId;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private long handlerStartNanos;
+    private long bodyStartNanos;
+    private Long userId;
+
+    private RequestTimings(String traceId) {
+        this.traceId = traceId;
+    }
+
+    /**
+     * Add the duration of one call to a stage of the current request, if it is being timed
+     */
+    public static void record(String stage, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(stage, nanos);
+        }
+    }
+
+    /**
+     * Note the user the current request was authenticated as, if it is being timed
+     */
+    public static void authenticated(Long userId) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.userId = userId;
+        }
+    }
+
+    /**
+     * Timings of the current request, or null if it is not being timed
+     */
+    static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    static RequestTimings start(String traceId) {
+        RequestTimings timings = new RequestTimings(traceId);
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    String getTraceId() {
+        return traceId;
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    void handlerStarted() {
+        handlerStartNanos = System.nanoTime();
+    }
+
+    /**
+     * The controller returned and its response body is about to be serialized
+     */
+    void bodyStarted() {
+        bodyStartNanos = System.nanoTime();
+        if (handlerStartNanos != 0) {
+            add(HANDLER, bodyStartNanos - handlerStartNanos);
+        }
+    }
+
+    /**
+     * The response is complete; closes the serialize stage. Safe to call from nested filters.
+     */
+    void end() {
+        if (bodyStartNanos != 0) {
+            add(SERIALIZE, System.nanoTime() - bodyStartNanos);
+            bodyStartNanos = 0;
+        }
+    }
+
+    void forEachStage(StageConsumer consumer) {
+        stages.forEach((name, stage) -> consumer.accept(name, stage.count, stage.nanos));
+    }
+
+    /**
+     * Close the request and render every stage as a Server-Timing header value
+     */
+    String finish() {
+        end();
+        StringBuilder header = new StringBuilder();
+        stages.forEach((name, stage) -> {
+            header.append(name).append(";dur=").append(millis(stage.nanos));
+            if (stage.count > 1) {
+                header.append(";desc=\"").append(stage.count).append(" calls\"");
+            }
+            header.append(", ");
+        });
+        return header.append(TOTAL).append(";dur=").append(millis(System.nanoTime() - startNanos)).toString();
+    }
+
+    interface StageConsumer {
+        void accept(String name, int calls, long nanos);
+    }
+
+    private void add(String stage, long nanos) {
+        stages.computeIfAbsent(stage, name -> new Stage()).add(nanos);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static final class Stage {
+        private int count;
+        private long nanos;
+
+        void add(long duration) {
+            count++;
+            nanos += duration;
+        }
+    }
+}
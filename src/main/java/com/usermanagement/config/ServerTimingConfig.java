@@ -0,0 +1,75 @@
+package com.usermanagement.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-Timing Configuration
+ * Enabled with server-timing.enabled=true. Registers {@link ServerTimingFilter} ahead of Spring
+ * Security, times every repository call into the db stage and marks where the controller starts;
+ * {@link ServerTimingAdvice} marks where it returns. The stages are also collected for the access
+ * log (access-log.enabled=true) without the filter. Nothing is registered when both are disabled.
+ */
+@Configuration
+@ConditionalOnExpression(ServerTimingConfig.STAGES_ENABLED)
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    static final String STAGES_ENABLED = "${server-timing.enabled:false} or ${access-log.enabled:false}";
+
+    @Bean
+    @ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true")
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${server-timing.excluded-paths:}") List<String> excludedPaths,
+            @Value("${server-timing.timing-allow-origin:}") String timingAllowOrigin) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(excludedPaths, timingAllowOrigin));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Adds every repository method invocation to the db stage of the current request
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(
+                            invocation -> RequestTimings.record(RequestTimings.DB, invocation.getDuration(TimeUnit.NANOSECONDS))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                RequestTimings timings = RequestTimings.current();
+                if (timings != null) {
+                    timings.handlerStarted();
+                }
+                return true;
+            }
+        });
+    }
+}
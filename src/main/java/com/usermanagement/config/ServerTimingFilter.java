@@ -0,0 +1,82 @@
+package com.usermanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Server-Timing Filter
+ * Times each request by stage (token verification, user lookups, repository calls, controller,
+ * serialization) and answers with a Server-Timing header that browser devtools show per request.
+ * Every request gets a trace id (X-Trace-Id, taken from the request when it carries a valid one),
+ * which is put in the MDC as traceId and logged together with the timings.
+ * The body is buffered so serialization can be included in the header; streaming endpoints are
+ * excluded and keep writing straight to the client.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+    static final String MDC_TRACE_ID = "traceId";
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+    private static final Pattern VALID_TRACE_ID = Pattern.compile("[A-Za-z0-9-]{8,64}");
+
+    private final List<String> excludedPaths;
+    private final String timingAllowOrigin;
+
+    public ServerTimingFilter(List<String> excludedPaths, String timingAllowOrigin) {
+        this.excludedPaths = excludedPaths;
+        this.timingAllowOrigin = timingAllowOrigin;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String traceId = traceId(request.getHeader(TRACE_ID_HEADER));
+        RequestTimings timings = RequestTimings.start(traceId);
+        MDC.put(MDC_TRACE_ID, traceId);
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, buffered);
+        } finally {
+            String serverTiming = timings.finish();
+            RequestTimings.clear();
+            if (!buffered.isCommitted()) {
+                buffered.setHeader(TRACE_ID_HEADER, traceId);
+                buffered.setHeader(SERVER_TIMING_HEADER, serverTiming);
+                if (!timingAllowOrigin.isBlank()) {
+                    buffered.setHeader("Timing-Allow-Origin", timingAllowOrigin);
+                }
+            }
+            log.info("{} {} {} {}", request.getMethod(), request.getRequestURI(), buffered.getStatus(), serverTiming);
+            MDC.remove(MDC_TRACE_ID);
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    private static String traceId(String requested) {
+        if (requested != null && VALID_TRACE_ID.matcher(requested).matches()) {
+            return requested;
+        }
+        return HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong());
+    }
+}
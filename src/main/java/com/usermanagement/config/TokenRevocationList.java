@@ -0,0 +1,162 @@
+package com.usermanagement.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token Revocation List
+ * In-memory denylist of logged-out tokens and of users whose tokens were all revoked.
+ * A Bloom filter answers "definitely not revoked" for almost every request without touching
+ * the exact set, and every entry is dropped once the tokens it covers have expired anyway.
+ *
+ * The list is local to this JVM. With several nodes, a token logged out or a user revoked on one
+ * node is still accepted by the others until the access token expires (jwt.access-token-validity-ms),
+ * so that validity is what bounds revocation cluster-wide. Refresh is not affected: refresh tokens
+ * are revoked in the database and every refresh reads the user's current role and token version.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final int BLOOM_HASHES = 5;
+
+    private final long userRevocationTtlMillis;
+    private final int bloomBits;
+
+    // Revoked token id -> token expiry (epoch millis)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    // User id -> lowest token version still accepted for that user
+    private final Map<Long, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter;
+
+    @Autowired
+    public TokenRevocationList(JwtUtil jwtUtil, @Value("${jwt.revocation.bloom-bits:1048576}") int bloomBits) {
+        this.userRevocationTtlMillis = jwtUtil.getTokenValidityMillis();
+        this.bloomBits = bloomBits;
+        this.bloomFilter = new BloomFilter(bloomBits);
+    }
+
+    /**
+     * Revoke a single token until it expires
+     */
+    public synchronized void revokeToken(VerifiedToken token) {
+        if (token.getTokenId() == null || token.isExpired()) {
+            return;
+        }
+        revokedTokens.put(token.getTokenId(), token.getExpiration().getTime());
+        bloomFilter.add(token.getTokenId());
+    }
+
+    /**
+     * Revoke every token issued to a user with a token version below minVersion
+     */
+    public void revokeUser(Long userId, int minVersion) {
+        long expiresAt = System.currentTimeMillis() + userRevocationTtlMillis;
+        revokedUsers.merge(userId, new UserRevocation(minVersion, expiresAt),
+                (current, added) -> new UserRevocation(Math.max(current.minVersion, added.minVersion), added.expiresAt));
+    }
+
+    /**
+     * Check if a verified token, or its user's tokens, have been revoked
+     */
+    public boolean isRevoked(VerifiedToken token, AuthenticatedUser principal) {
+        UserRevocation userRevocation = revokedUsers.get(principal.getId());
+        if (userRevocation != null && principal.getTokenVersion() < userRevocation.minVersion) {
+            return true;
+        }
+
+        String tokenId = token.getTokenId();
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokens.containsKey(tokenId);
+    }
+
+    /**
+     * Drop entries for tokens that have expired and rebuild the Bloom filter from what is left
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:60000}")
+    public synchronized void prune() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedUsers.values().removeIf(revocation -> revocation.expiresAt <= now);
+
+        BloomFilter rebuilt = new BloomFilter(bloomBits);
+        revokedTokens.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+    }
+
+    /**
+     * Number of individually revoked tokens currently tracked
+     */
+    public int size() {
+        return revokedTokens.size();
+    }
+
+    private record UserRevocation(int minVersion, long expiresAt) {
+    }
+
+    /**
+     * Fixed-size, lock-free Bloom filter using double hashing over a 64-bit hash
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final int bits;
+
+        BloomFilter(int bits) {
+            this.bits = Math.max(bits, 64);
+            this.words = new AtomicLongArray((this.bits + 63) / 64);
+        }
+
+        void add(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= BLOOM_HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                int index = bit >>> 6;
+                long mask = 1L << bit;
+                long word;
+                do {
+                    word = words.get(index);
+                } while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= BLOOM_HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a followed by a murmur3 finalizer
+        private static long hash64(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.usermanagement.config;
+
+import lombok.Value;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Verified Token
+ * Immutable view of a JWT whose signature and expiry have already been checked
+ */
+@Value
+public class VerifiedToken {
+    String tokenId;
+    String subject;
+    Date expiration;
+    Map<String, Object> claims;
+
+    /**
+     * Check if token has expired since it was verified
+     */
+    public boolean isExpired() {
+        return expiration.getTime() <= System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,36 @@
+package com.usermanagement.controller;
+
+import com.usermanagement.config.JwtKeyStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWKS Controller - Public key discovery
+ * Publishes the token verification keys so other nodes and downstream services can verify tokens
+ */
+@RestController
+public class JwksController {
+
+    private final JwtKeyStore jwtKeyStore;
+
+    @Autowired
+    public JwksController(JwtKeyStore jwtKeyStore) {
+        this.jwtKeyStore = jwtKeyStore;
+    }
+
+    /**
+     * GET /.well-known/jwks.json - Public signing keys as a JWK Set
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwtKeyStore.toJwkSet());
+    }
+}
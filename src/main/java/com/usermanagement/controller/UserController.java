@@ -1,19 +1,44 @@
 package com.usermanagement.controller;
 
+import com.usermanagement.config.AuthMetrics;
+import com.usermanagement.config.AuthenticatedUser;
 import com.usermanagement.config.JwtUtil;
+import com.usermanagement.config.LoginAttemptThrottle;
+import com.usermanagement.config.ServerTimingFilter;
+import com.usermanagement.config.TokenRevocationList;
+import com.usermanagement.config.VerifiedToken;
+import com.usermanagement.dto.BulkUserRequest;
 import com.usermanagement.dto.LoginRequest;
 import com.usermanagement.dto.LoginResponse;
+import com.usermanagement.dto.RefreshRequest;
 import com.usermanagement.dto.UserDTO;
+import com.usermanagement.dto.UserPage;
 import com.usermanagement.entity.User;
+import com.usermanagement.exception.HashingCapacityExceededException;
+import com.usermanagement.exception.PreconditionFailedException;
+import com.usermanagement.service.RefreshTokenService;
+import com.usermanagement.service.UserBulkService;
+import com.usermanagement.service.UserExportService;
+import com.usermanagement.service.UserImportService;
 import com.usermanagement.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,16 +49,41 @@ import java.util.Map;
  */
 @RestController
 @RequestMapping("/api")
-@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"},
+        exposedHeaders = {UserController.NEXT_CURSOR_HEADER, HttpHeaders.LINK, HttpHeaders.ETAG,
+                ServerTimingFilter.TRACE_ID_HEADER})
 public class UserController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    // Lets clients keep user responses but makes them revalidate with If-None-Match before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final UserService userService;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList tokenRevocationList;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
+    private final UserBulkService userBulkService;
+    private final AuthMetrics authMetrics;
 
     @Autowired
-    public UserController(UserService userService, JwtUtil jwtUtil) {
+    public UserController(UserService userService, JwtUtil jwtUtil, TokenRevocationList tokenRevocationList,
+                          RefreshTokenService refreshTokenService, LoginAttemptThrottle loginAttemptThrottle,
+                          UserExportService userExportService, UserImportService userImportService,
+                          UserBulkService userBulkService, AuthMetrics authMetrics) {
         this.userService = userService;
+        this.userExportService = userExportService;
+        this.userImportService = userImportService;
+        this.userBulkService = userBulkService;
         this.jwtUtil = jwtUtil;
+        this.tokenRevocationList = tokenRevocationList;
+        this.refreshTokenService = refreshTokenService;
+        this.loginAttemptThrottle = loginAttemptThrottle;
+        this.authMetrics = authMetrics;
     }
 
     /**
@@ -50,6 +100,8 @@ public class UserController {
             response.put("user", userDTO);
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (HashingCapacityExceededException e) {
+            return serviceUnavailable(e);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -58,48 +110,197 @@ public class UserController {
     }
 
     /**
-     * POST /api/auth/login - Authenticate user and return JWT token
+     * POST /api/auth/login - Authenticate user and return access and refresh tokens
+     * Repeated failures for a username or client IP are throttled before the password is checked.
      */
     @PostMapping("/auth/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        String clientIp = request.getRemoteAddr();
+
+        long retryAfterMillis = loginAttemptThrottle.retryAfterMillis(loginRequest.getUsername(), clientIp);
+        if (retryAfterMillis > 0) {
+            authMetrics.recordFailure(AuthMetrics.Reason.THROTTLED);
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Too many failed login attempts, please retry later");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMillis + 999) / 1000))
+                    .body(error);
+        }
+
         try {
             User user = userService.authenticateUser(loginRequest.getUsername(), loginRequest.getPassword());
-            String token = jwtUtil.generateToken(user.getUsername());
+            loginAttemptThrottle.recordSuccess(loginRequest.getUsername());
+            String refreshToken = refreshTokenService.issue(user);
+            return ResponseEntity.ok(buildLoginResponse(user, refreshToken));
+        } catch (HashingCapacityExceededException e) {
+            return serviceUnavailable(e);
+        } catch (RuntimeException e) {
+            loginAttemptThrottle.recordFailure(loginRequest.getUsername(), clientIp);
+            authMetrics.recordFailure(AuthMetrics.Reason.BAD_CREDENTIALS);
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        }
+    }
+
+    /**
+     * POST /api/auth/refresh - Exchange a refresh token for a new access and refresh token
+     * The presented refresh token is single-use; reusing it revokes the whole rotation chain.
+     */
+    @PostMapping("/auth/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshRequest refreshRequest) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+            return ResponseEntity.ok(buildLoginResponse(rotation.user(), rotation.refreshToken()));
+        } catch (RuntimeException e) {
+            authMetrics.recordFailure(AuthMetrics.Reason.INVALID_REFRESH_TOKEN);
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        }
+    }
 
-            LoginResponse response = new LoginResponse(
-                    token,
-                    user.getUsername(),
-                    user.getEmail(),
-                    user.getRole(),
-                    user.getId()
-            );
+    /**
+     * POST /api/auth/logout - Revoke the JWT token sent with the request
+     * and, when given, the refresh token chain it belongs to.
+     * A refresh token issued to another user is ignored.
+     */
+    @PostMapping("/auth/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+                                    @RequestBody(required = false) RefreshRequest refreshRequest) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Missing bearer token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        }
 
+        try {
+            VerifiedToken token = jwtUtil.verify(authorizationHeader.substring(7));
+            tokenRevocationList.revokeToken(token);
+            if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+                refreshTokenService.revokeFamily(refreshRequest.getRefreshToken(),
+                        AuthenticatedUser.fromToken(token).getId());
+            }
+
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Logged out successfully");
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
+            error.put("error", "Invalid token");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
         }
     }
 
     /**
-     * GET /api/users - Get all users (authenticated)
+     * GET /api/users - Get one page of users (authenticated)
+     * The body stays a JSON array; the cursor for the next page is returned in the X-Next-Cursor
+     * header and as a Link rel="next" URL, and both are absent on the last page.
+     * The ETag hashes the ids and row versions on the page, so If-None-Match answers 304 until
+     * a user on it changes or the page composition does.
      */
     @GetMapping("/users")
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size,
+                                         @RequestParam(defaultValue = "id") String sort) {
+        try {
+            UserPage page = userService.getUsersPage(sort, cursor, size);
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .eTag(pageETag(page))
+                    .cacheControl(REVALIDATE);
+            if (page.getNextCursor() != null) {
+                String next = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                        .queryParam("size", size)
+                        .queryParam("sort", sort)
+                        .queryParam("cursor", page.getNextCursor())
+                        .build()
+                        .toUriString();
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor())
+                        .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return response.body(page.getUsers());
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    /**
+     * GET /api/users/search?q=...&limit=10 - Find users by username or email prefix or substring (authenticated)
+     * Prefix matches come first; queries shorter than three characters only match prefixes.
+     */
+    @GetMapping("/users/search")
+    public ResponseEntity<?> searchUsers(@RequestParam String q,
+                                         @RequestParam(defaultValue = "" + UserService.DEFAULT_SEARCH_LIMIT) int limit) {
+        List<UserDTO> users = userService.searchUsers(q, limit);
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * GET /api/users/export?format=ndjson|csv - Stream every user (authenticated)
+     * Rows are written to the response as they are read, for bulk consumers such as sync jobs.
+     */
+    @GetMapping("/users/export")
+    public ResponseEntity<?> exportUsers(@RequestParam(defaultValue = UserExportService.FORMAT_NDJSON) String format,
+                                         HttpServletResponse response) throws IOException {
+        if (!UserExportService.isSupportedFormat(format)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Unsupported export format: " + format);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+
+        boolean csv = UserExportService.FORMAT_CSV.equals(format);
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format + "\"");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        userExportService.exportUsers(format, writer);
+        writer.flush();
+
+        // Body already written to the response
+        return null;
+    }
+
+    /**
+     * POST /api/users/import - Bulk-create users from a JSON array or NDJSON body
+     * Only ADMIN can import users. One NDJSON result line per row is streamed back as each chunk
+     * completes, so large uploads report progress and never hold all results in memory.
+     */
+    @PostMapping(value = "/users/import", consumes = {"application/json", "application/x-ndjson"})
+    public ResponseEntity<?> importUsers(HttpServletRequest request, HttpServletResponse response,
+                                         @AuthenticationPrincipal AuthenticatedUser currentUser) throws IOException {
+        if (!currentUser.isAdmin()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Only admins can import users");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        userImportService.importUsers(request.getInputStream(), writer);
+        writer.flush();
+
+        // Body already written to the response
+        return null;
+    }
+
     /**
      * GET /api/users/{id} - Get user by ID (authenticated)
+     * Answers 304 without a body when If-None-Match carries the current ETag ("id-version").
+     * A user cached on this node is served without a query; the cache is node-local, so the
+     * body can lag a change made on another node by up to the cache TTL (30 seconds).
+     * Conditional requests read the user from the primary instead, so a 304 always means the
+     * user is unchanged cluster-wide.
      */
     @GetMapping("/users/{id}")
-    public ResponseEntity<?> getUserById(@PathVariable Long id) {
+    public ResponseEntity<?> getUserById(@PathVariable Long id,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            User user = userService.getUserById(id);
-            UserDTO userDTO = userService.convertToDTO(user);
-            return ResponseEntity.ok(userDTO);
+            UserDTO userDTO = findUser(id, ifNoneMatch);
+            return userResponse(userDTO);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -108,16 +309,14 @@ public class UserController {
     }
 
     /**
-     * GET /api/users/me - Get current authenticated user
+     * GET /api/users/me - Get current authenticated user, with the same ETag as GET /api/users/{id}
      */
     @GetMapping("/users/me")
-    public ResponseEntity<?> getCurrentUser() {
+    public ResponseEntity<?> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser currentUser,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            User user = userService.getUserByUsername(username);
-            UserDTO userDTO = userService.convertToDTO(user);
-            return ResponseEntity.ok(userDTO);
+            UserDTO userDTO = findUser(currentUser.getId(), ifNoneMatch);
+            return userResponse(userDTO);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -128,29 +327,55 @@ public class UserController {
     /**
      * PUT /api/users/{id} - Update user (authenticated)
      * ADMIN can update any user. Regular users can only update their own profile.
+     * With If-Match the update only applies to that version (412 otherwise).
      */
     @PutMapping("/users/{id}")
-    public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody User user) {
+    public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody User user,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String currentUsername = authentication.getName();
-            User currentUser = userService.getUserByUsername(currentUsername);
-
             // Regular users can only update their own profile
-            if (!"ADMIN".equals(currentUser.getRole()) && !currentUser.getId().equals(id)) {
+            if (!currentUser.isAdmin() && !currentUser.getId().equals(id)) {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "You can only update your own profile");
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
             }
 
-            User updatedUser = userService.updateUser(id, user);
-            UserDTO userDTO = userService.convertToDTO(updatedUser);
+            User updatedUser = userService.updateUser(id, user, expectedVersion(id, ifMatch));
+            return updatedResponse(updatedUser);
+        } catch (HashingCapacityExceededException e) {
+            return serviceUnavailable(e);
+        } catch (PreconditionFailedException e) {
+            return preconditionFailed(e);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "User updated successfully");
-            response.put("user", userDTO);
+    /**
+     * PATCH /api/users/{id} - Partially update user with a JSON Merge Patch (authenticated)
+     * Same permissions and If-Match handling as PUT. Only the fields present in the patch change;
+     * null removes phoneNumber or dateOfBirth.
+     */
+    @PatchMapping(value = "/users/{id}", consumes = {MERGE_PATCH_JSON, "application/json"})
+    public ResponseEntity<?> patchUser(@PathVariable Long id, @RequestBody Map<String, Object> patch,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                       @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            if (!currentUser.isAdmin() && !currentUser.getId().equals(id)) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "You can only update your own profile");
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+            }
 
-            return ResponseEntity.ok(response);
+            User updatedUser = userService.patchUser(id, patch, expectedVersion(id, ifMatch));
+            return updatedResponse(updatedUser);
+        } catch (HashingCapacityExceededException e) {
+            return serviceUnavailable(e);
+        } catch (PreconditionFailedException e) {
+            return preconditionFailed(e);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -158,20 +383,26 @@ public class UserController {
         }
     }
 
+    private ResponseEntity<Map<String, Object>> updatedResponse(User updatedUser) {
+        UserDTO userDTO = userService.convertToDTO(updatedUser);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "User updated successfully");
+        response.put("user", userDTO);
+
+        return ResponseEntity.ok().eTag(userETag(userDTO)).body(response);
+    }
+
     /**
      * DELETE /api/users/{id} - Delete user (authenticated)
      * Only ADMIN can delete users. ADMIN cannot delete their own account.
      * Regular users cannot delete any account.
      */
     @DeleteMapping("/users/{id}")
-    public ResponseEntity<?> deleteUser(@PathVariable Long id) {
+    public ResponseEntity<?> deleteUser(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser currentUser) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String currentUsername = authentication.getName();
-            User currentUser = userService.getUserByUsername(currentUsername);
-
             // Only ADMIN can delete users
-            if (!"ADMIN".equals(currentUser.getRole())) {
+            if (!currentUser.isAdmin()) {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "Only admins can delete accounts");
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
@@ -194,4 +425,177 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
         }
     }
+
+    /**
+     * POST /api/users/bulk-delete - Delete users by ids or filter
+     * Only ADMIN can delete users. ADMIN cannot delete their own account; a filter never matches it.
+     */
+    @PostMapping("/users/bulk-delete")
+    public ResponseEntity<?> bulkDeleteUsers(@RequestBody BulkUserRequest request,
+                                             @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            if (!currentUser.isAdmin()) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Only admins can delete accounts");
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+            }
+
+            if (request.getIds() != null && request.getIds().contains(currentUser.getId())) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Admin cannot delete their own account");
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+            }
+
+            long deleted = userBulkService.deleteUsers(request, currentUser.getId());
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Users deleted successfully");
+            response.put("deleted", deleted);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    /**
+     * POST /api/users/bulk-update - Change the role of users by ids or filter
+     * Only ADMIN can change roles. ADMIN cannot change their own role; a filter never matches it.
+     */
+    @PostMapping("/users/bulk-update")
+    public ResponseEntity<?> bulkUpdateUsers(@RequestBody BulkUserRequest request,
+                                             @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            if (!currentUser.isAdmin()) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Only admins can change roles");
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+            }
+
+            if (request.getIds() != null && request.getIds().contains(currentUser.getId())) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Admin cannot change their own role");
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+            }
+
+            long updated = userBulkService.updateRole(request, currentUser.getId());
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Users updated successfully");
+            response.put("updated", updated);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    /**
+     * POST /api/users/{id}/revoke-tokens - Revoke every token issued to a user
+     * Only ADMIN can revoke tokens.
+     */
+    @PostMapping("/users/{id}/revoke-tokens")
+    public ResponseEntity<?> revokeTokens(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        try {
+            if (!currentUser.isAdmin()) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "Only admins can revoke tokens");
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+            }
+
+            userService.revokeTokens(id);
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Tokens revoked successfully");
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+    }
+
+    /**
+     * 412 when the If-Match ETag no longer matches the stored version of the user
+     */
+    private static ResponseEntity<Map<String, String>> preconditionFailed(PreconditionFailedException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    /**
+     * 503 with Retry-After when password hashing is saturated, so clients back off instead of piling up
+     */
+    private ResponseEntity<Map<String, String>> serviceUnavailable(HashingCapacityExceededException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    private LoginResponse buildLoginResponse(User user, String refreshToken) {
+        return new LoginResponse(
+                jwtUtil.generateToken(user),
+                user.getUsername(),
+                user.getEmail(),
+                user.getRole(),
+                user.getId(),
+                refreshToken,
+                jwtUtil.getTokenValidityMillis() / 1000
+        );
+    }
+
+    /**
+     * User for a GET: from the primary when the client revalidates, so its ETag is compared with
+     * the current version, otherwise possibly from this node's cache
+     */
+    private UserDTO findUser(Long id, String ifNoneMatch) {
+        return ifNoneMatch != null ? userService.getUncachedUserById(id) : userService.getUserById(id);
+    }
+
+    /**
+     * 200 with the user's ETag; MVC turns it into a bodiless 304 when If-None-Match matches
+     */
+    private static ResponseEntity<UserDTO> userResponse(UserDTO user) {
+        return ResponseEntity.ok()
+                .eTag(userETag(user))
+                .cacheControl(REVALIDATE)
+                .body(user);
+    }
+
+    // Strong ETag of a single user: id and row version
+    static String userETag(UserDTO user) {
+        return "\"" + user.getId() + "-" + user.getVersion() + "\"";
+    }
+
+    /**
+     * Version an If-Match header requires for the user, or null when it is absent or "*"
+     * @throws PreconditionFailedException if the header is not a current-format ETag of this user
+     */
+    static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+            try {
+                return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Not one of our ETags
+            }
+        }
+        throw new PreconditionFailedException();
+    }
+
+    // Strong ETag of a page: hash of its ids and row versions in order, plus the next cursor
+    static String pageETag(UserPage page) {
+        StringBuilder content = new StringBuilder();
+        for (UserDTO user : page.getUsers()) {
+            content.append(user.getId()).append('-').append(user.getVersion()).append(',');
+        }
+        content.append(page.getNextCursor());
+        return "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
 }
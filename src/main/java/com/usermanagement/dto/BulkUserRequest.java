@@ -0,0 +1,20 @@
+package com.usermanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bulk User Request DTO
+ * Targets users either by id or by filter; role is the new role for bulk updates
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserRequest {
+    private List<Long> ids;
+    private UserFilter filter;
+    private String role;
+}
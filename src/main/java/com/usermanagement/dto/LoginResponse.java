@@ -6,7 +6,7 @@ import lombok.NoArgsConstructor;
 
 /**
  * Login Response DTO
- * Contains JWT token and user information after successful authentication
+ * Contains JWT access token, refresh token and user information after successful authentication
  */
 @Data
 @NoArgsConstructor
@@ -17,4 +17,6 @@ public class LoginResponse {
     private String email;
     private String role;
     private Long userId;
+    private String refreshToken;
+    private long expiresIn;
 }
@@ -1,5 +1,6 @@
 package com.usermanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -21,4 +22,8 @@ public class UserDTO {
     private String phoneNumber;
     private String dateOfBirth;
     private LocalDateTime createdAt;
+
+    // Row version, sent as the ETag rather than in the body
+    @JsonIgnore
+    private Long version;
 }
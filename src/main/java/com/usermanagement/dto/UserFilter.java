@@ -0,0 +1,29 @@
+package com.usermanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * User Filter DTO
+ * Selects users for bulk operations; all given criteria must match
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserFilter {
+    private String role;
+    private String emailDomain;
+    private LocalDateTime createdBefore;
+
+    /**
+     * Check if no criterion is set, which would select every user
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return role == null && emailDomain == null && createdBefore == null;
+    }
+}
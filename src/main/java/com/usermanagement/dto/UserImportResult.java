@@ -0,0 +1,33 @@
+package com.usermanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * User Import Result
+ * Outcome of one import row, identified by its 1-based position in the upload
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResult {
+
+    public static final String CREATED = "created";
+    public static final String FAILED = "error";
+
+    private long row;
+    private String status;
+    private Long id;
+    private String error;
+
+    public static UserImportResult created(long row, Long id) {
+        return new UserImportResult(row, CREATED, id, null);
+    }
+
+    public static UserImportResult failed(long row, String error) {
+        return new UserImportResult(row, FAILED, null, error);
+    }
+}
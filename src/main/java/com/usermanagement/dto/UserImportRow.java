@@ -0,0 +1,22 @@
+package com.usermanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * User Import Row
+ * One user of a bulk import. Either a raw password or an existing BCrypt hash must be given.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRow {
+    private String username;
+    private String email;
+    private String password;
+    private String passwordHash;
+    private String role;
+    private String phoneNumber;
+    private String dateOfBirth;
+}
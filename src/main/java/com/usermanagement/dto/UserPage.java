@@ -0,0 +1,19 @@
+package com.usermanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * User Page DTO
+ * One keyset page of users and the opaque cursor for the next page (null on the last page)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPage {
+    private List<UserDTO> users;
+    private String nextCursor;
+}
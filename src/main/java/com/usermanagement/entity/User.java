@@ -1,5 +1,6 @@
 package com.usermanagement.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -7,32 +8,74 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 /**
  * User Entity - Represents a user in the database
  * Contains user information and authentication credentials
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // Keyset pagination by creation time
+        @Index(name = "idx_users_created_at_id", columnList = "created_at, id"),
+        // Bulk operations filtered by role, walked in id order
+        @Index(name = "idx_users_role_id", columnList = "role, id"),
+        // Incremental refresh of the search index
+        @Index(name = "idx_users_updated_at", columnList = "updated_at")
+}, uniqueConstraints = {
+        // Named so violations can be mapped back to a field
+        @UniqueConstraint(name = User.UK_USERNAME, columnNames = "username"),
+        @UniqueConstraint(name = User.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = User.UK_ADMIN_BOOTSTRAP, columnNames = "admin_bootstrap")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
+// Updates write only the changed columns (plus the version)
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
+    public static final String UK_USERNAME = "uk_users_username";
+    public static final String UK_EMAIL = "uk_users_email";
+    public static final String UK_ADMIN_BOOTSTRAP = "uk_users_admin_bootstrap";
+
+    public static final Set<String> ROLES = Set.of("USER", "ADMIN");
+
+    // Second-level cache regions, bounded and expiring as configured in application.conf
+    public static final String CACHE_REGION = "users";
+    public static final String NATURAL_ID_CACHE_REGION = "users-natural-id";
+
+    /**
+     * Drawn from a pooled sequence (one round trip per 50 ids) so inserts can be JDBC-batched,
+     * which IDENTITY columns prevent
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
+    /**
+     * Natural id, so lookups by username are resolved through the second-level cache
+     */
+    @NaturalId(mutable = true)
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
 
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     @NotBlank(message = "Password is required")
@@ -52,11 +95,51 @@ public class User {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Set on insert and on every change, so each node's search index can fetch only changed users
+     */
+    @JsonIgnore
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Row version, incremented by every update; identifies the representation in ETags and
+     * makes updates based on an older version fail (optimistic locking)
+     */
+    @Version
+    @JsonIgnore
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Embedded in issued JWTs; incrementing it invalidates previously issued tokens
+     */
+    @JsonIgnore
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
+    /**
+     * TRUE only on the user that bootstrapped the first ADMIN, NULL on everyone else.
+     * The unique constraint lets exactly one concurrent first signup win.
+     */
+    @JsonIgnore
+    @Column(name = "admin_bootstrap")
+    private Boolean adminBootstrap;
+
     /**
      * Automatically set creation timestamp before persisting
      */
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    /**
+     * Automatically set modification timestamp before updating
+     */
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 }
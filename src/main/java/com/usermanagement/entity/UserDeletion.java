@@ -0,0 +1,32 @@
+package com.usermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * User Deletion Entity - Records that a user was deleted
+ * Deleted rows leave nothing behind in the users table, so every delete also writes one of these;
+ * each node's search index reads the recent ones to drop users deleted through other nodes.
+ * Records are purged once they are older than user.search.deletion-retention-ms.
+ */
+@Entity
+@Table(name = "user_deletions", indexes = {
+        // Incremental refresh of the search index and purge of old records
+        @Index(name = "idx_user_deletions_deleted_at", columnList = "deleted_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDeletion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,19 @@
+package com.usermanagement.exception;
+
+/**
+ * Thrown when the password hashing pool and its queue are full.
+ * Controllers map it to 503 Service Unavailable with a Retry-After header.
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public HashingCapacityExceededException(long retryAfterSeconds) {
+        super("Server is busy, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
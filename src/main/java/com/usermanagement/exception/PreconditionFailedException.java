@@ -0,0 +1,13 @@
+package com.usermanagement.exception;
+
+/**
+ * Thrown when an update was based on an outdated version of a user, either because the
+ * If-Match version is not current or because another update committed first.
+ * Controllers map it to 412 Precondition Failed.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException() {
+        super("User has been modified, reload it and retry");
+    }
+}
@@ -0,0 +1,72 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Refresh Token Repository - Data Access Layer
+ * Provides lookups by token hash and bulk revocation for refresh tokens
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Find refresh token by its SHA-256 hash
+     * @param tokenHash hex encoded hash of the raw token
+     * @return Optional containing the token if found
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Mark token as used, only if it has not been used yet
+     * @param id the token id
+     * @return 1 if this call consumed the token, 0 if it was already used
+     */
+    @Modifying
+    @Query("update RefreshToken r set r.used = true where r.id = :id and r.used = false")
+    int markUsed(@Param("id") Long id);
+
+    /**
+     * Revoke every token in a rotation family
+     * @param familyId the family id
+     * @return number of revoked tokens
+     */
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * Delete every refresh token of a user
+     * @param userId the user id
+     * @return number of deleted tokens
+     */
+    @Modifying
+    @Query("delete from RefreshToken r where r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Delete every refresh token of several users
+     * @param userIds the user ids
+     * @return number of deleted tokens
+     */
+    @Modifying
+    @Query("delete from RefreshToken r where r.userId in :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Delete tokens that have expired
+     * @param now the current time
+     * @return number of deleted tokens
+     */
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,50 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.entity.UserDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * User Deletion Repository - Data Access Layer
+ * Records deleted user ids and lists the recent ones for the search index refresh
+ */
+@Repository
+public interface UserDeletionRepository extends JpaRepository<UserDeletion, Long> {
+
+    /**
+     * Record the deletion of those of the given users that still exist; call in the deleting
+     * transaction, before the users are deleted
+     * @param ids the user ids
+     * @return number of recorded deletions
+     */
+    @Modifying
+    @Transactional
+    @Query("insert into UserDeletion (userId, deletedAt) select u.id, local datetime from User u where u.id in :ids")
+    int recordDeletions(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the users deleted after a point in time
+     * @param since exclusive lower bound of the deletion time
+     * @return ids of the deleted users
+     */
+    @Query("select d.userId from UserDeletion d where d.deletedAt > :since")
+    List<Long> findUserIdsDeletedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Purge deletion records no refresh needs any more
+     * @param before exclusive upper bound of the deletion time
+     * @return number of purged records
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from UserDeletion d where d.deletedAt < :before")
+    int deleteRecordedBefore(@Param("before") LocalDateTime before);
+}
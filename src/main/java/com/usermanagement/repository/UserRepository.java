@@ -1,24 +1,40 @@
 package com.usermanagement.repository;
 
+import com.usermanagement.dto.UserDTO;
 import com.usermanagement.entity.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * User Repository - Data Access Layer
- * Provides CRUD operations and custom queries for User entity
+ * Provides CRUD operations and custom queries for User entity.
+ * Query methods run in read-only transactions (routed to a replica when replicas are configured);
+ * modifying queries and the inherited write methods run read-write on the primary.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+@Transactional(readOnly = true)
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
-    /**
-     * Find user by username
-     * @param username the username to search for
-     * @return Optional containing the user if found
-     */
-    Optional<User> findByUsername(String username);
+    // Constructor projection for read paths: selects only the DTO columns, never the password hash,
+    // and returns unmanaged objects that the persistence context does not track
+    String USER_DTO = "select new com.usermanagement.dto.UserDTO(u.id, u.username, u.email, u.role, "
+            + "u.phoneNumber, u.dateOfBirth, u.createdAt, u.version) from User u ";
 
     /**
      * Find user by email
@@ -40,4 +56,214 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if email exists, false otherwise
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Check if any user exists (stops at the first row instead of counting the table).
+     * Reads the primary: a lagging replica could report an empty table and let a signup claim ADMIN.
+     * @return true if at least one user exists
+     */
+    @Transactional
+    boolean existsByIdNotNull();
+
+    /**
+     * Find which of the given usernames are already taken
+     * @param usernames the usernames to check
+     * @return the subset that exists
+     */
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Find which of the given emails are already taken
+     * @param emails the emails to check
+     * @return the subset that exists
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Find user by username straight from the primary database, bypassing the second-level cache.
+     * For credential checks: a password change, demotion or deletion on another node must take
+     * effect here immediately, not when this node's cached copy expires. The fresh row replaces
+     * the cached one.
+     * @param username the username to search for
+     * @return Optional containing the user if found
+     */
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_CACHE_MODE, value = "REFRESH"))
+    @Query("select u from User u where u.username = :username")
+    Optional<User> findUncachedByUsername(@Param("username") String username);
+
+    /**
+     * Find user by id straight from the primary database, bypassing the second-level cache.
+     * For token refresh, which must see the current role and whether the user still exists.
+     * @param id the user id
+     * @return Optional containing the user if found
+     */
+    @Transactional
+    @QueryHints(@QueryHint(name = HINT_CACHE_MODE, value = "REFRESH"))
+    @Query("select u from User u where u.id = :id")
+    Optional<User> findUncachedById(@Param("id") Long id);
+
+    /**
+     * Find user DTO by id without loading the entity
+     * @param id the user id
+     * @return Optional containing the user DTO if found
+     */
+    @Query(USER_DTO + "where u.id = :id")
+    Optional<UserDTO> findDtoById(@Param("id") Long id);
+
+    /**
+     * Find user DTO by id on the primary database without loading the entity.
+     * For conditional GETs, whose 304 must reflect the current version rather than a copy cached
+     * on this node or a lagging replica.
+     * @param id the user id
+     * @return Optional containing the user DTO if found
+     */
+    @Transactional
+    @Query(USER_DTO + "where u.id = :id")
+    Optional<UserDTO> findUncachedDtoById(@Param("id") Long id);
+
+    /**
+     * Find user DTO by username without loading the entity
+     * @param username the username to search for
+     * @return Optional containing the user DTO if found
+     */
+    @Query(USER_DTO + "where u.username = :username")
+    Optional<UserDTO> findDtoByUsername(@Param("username") String username);
+
+    /**
+     * Find user DTOs by id without loading the entities
+     * @param ids the user ids
+     * @return the DTOs of the users that exist, in no particular order
+     */
+    @Query(USER_DTO + "where u.id in :ids")
+    List<UserDTO> findDtosByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page ordered by id ascending, starting after the given id
+     * @param afterId last id of the previous page (0 for the first page)
+     * @param pageable only the page size is used, always with page number 0
+     */
+    @Query(USER_DTO + "where u.id > :afterId order by u.id asc")
+    List<UserDTO> findPageByIdAsc(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Keyset page ordered by id descending, starting before the given id
+     * @param beforeId last id of the previous page (Long.MAX_VALUE for the first page)
+     * @param pageable only the page size is used, always with page number 0
+     */
+    @Query(USER_DTO + "where u.id < :beforeId order by u.id desc")
+    List<UserDTO> findPageByIdDesc(@Param("beforeId") long beforeId, Pageable pageable);
+
+    /**
+     * Keyset page ordered by creation time ascending, id breaking ties
+     * Served by the (created_at, id) index.
+     */
+    @Query(USER_DTO + "where u.createdAt > :createdAt or (u.createdAt = :createdAt and u.id > :id) "
+            + "order by u.createdAt asc, u.id asc")
+    List<UserDTO> findPageByCreatedAtAsc(@Param("createdAt") LocalDateTime createdAt, @Param("id") long id,
+                                      Pageable pageable);
+
+    /**
+     * Keyset page ordered by creation time descending, id breaking ties
+     * Served by the (created_at, id) index.
+     */
+    @Query(USER_DTO + "where u.createdAt < :createdAt or (u.createdAt = :createdAt and u.id < :id) "
+            + "order by u.createdAt desc, u.id desc")
+    List<UserDTO> findPageByCreatedAtDesc(@Param("createdAt") LocalDateTime createdAt, @Param("id") long id,
+                                       Pageable pageable);
+
+    /**
+     * Stream every user DTO in id order through a forward-only cursor, fetching rows in batches.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(USER_DTO + "order by u.id asc")
+    Stream<UserDTO> streamAllOrderById();
+
+    /**
+     * Stream the users inserted or changed after a point in time, in id order, as DTOs.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(USER_DTO + "where u.updatedAt > :since order by u.id asc")
+    Stream<UserDTO> streamChangedSinceOrderById(@Param("since") LocalDateTime since);
+
+    /**
+     * Find the next chunk of user ids matching a filter, in id order after a given id.
+     * Null criteria are ignored.
+     * @param role role to match, or null
+     * @param emailPattern LIKE pattern for the email (escape character '!'), or null
+     * @param createdBefore upper bound for the creation time, or null
+     * @param afterId id of the last row of the previous chunk, 0 for the first
+     * @param excludedId id never to select (the acting admin)
+     * @param pageable page size, the page number must be 0
+     * @return matching ids in ascending order
+     */
+    @Query("select u.id from User u where u.id > :afterId and u.id <> :excludedId "
+            + "and (:role is null or u.role = :role) "
+            + "and (:emailPattern is null or u.email like :emailPattern escape '!') "
+            + "and (:createdBefore is null or u.createdAt < :createdBefore) "
+            + "order by u.id")
+    List<Long> findIdsByFilter(@Param("role") String role, @Param("emailPattern") String emailPattern,
+                               @Param("createdBefore") LocalDateTime createdBefore, @Param("afterId") long afterId,
+                               @Param("excludedId") long excludedId, Pageable pageable);
+
+    /**
+     * Delete users by id in one statement
+     * @param ids the user ids
+     * @param excludedId id never to delete (the acting admin)
+     * @return number of deleted users
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from User u where u.id in :ids and u.id <> :excludedId")
+    int deleteByIds(@Param("ids") Collection<Long> ids, @Param("excludedId") long excludedId);
+
+    /**
+     * Change the role of users by id in one statement, bumping the token version of every
+     * changed user because the role is embedded in their tokens, and the row version
+     * @param ids the user ids
+     * @param role the new role
+     * @param excludedId id never to change (the acting admin)
+     * @return number of changed users
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.role = :role, u.tokenVersion = u.tokenVersion + 1, u.version = u.version + 1, "
+            + "u.updatedAt = local datetime "
+            + "where u.id in :ids and u.id <> :excludedId and u.role <> :role")
+    int updateRoleByIds(@Param("ids") Collection<Long> ids, @Param("role") String role,
+                        @Param("excludedId") long excludedId);
+
+    /**
+     * Bump the token version of one user (and its row version) in a single statement, so a
+     * concurrent update of the same user can neither fail nor undo it
+     * @param id the user id
+     * @return number of changed users, 0 if the id does not exist
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1, u.version = u.version + 1, "
+            + "u.updatedAt = local datetime where u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    /**
+     * Find the current token versions of users with a role
+     * @param ids the user ids
+     * @param role the role to match
+     * @return id and token version of every matching user
+     */
+    @Query("select u.id as id, u.tokenVersion as tokenVersion from User u where u.id in :ids and u.role = :role")
+    List<TokenVersionView> findTokenVersions(@Param("ids") Collection<Long> ids, @Param("role") String role);
+
+    /**
+     * Id and token version of a user
+     */
+    interface TokenVersionView {
+        Long getId();
+
+        int getTokenVersion();
+    }
 }
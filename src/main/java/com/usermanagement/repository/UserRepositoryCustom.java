@@ -0,0 +1,34 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.entity.User;
+
+import java.util.Optional;
+
+/**
+ * User Repository Custom Operations
+ * Lookups that go through Hibernate APIs instead of derived queries
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Find user by username via its natural id.
+     * Served from the second-level cache when the username and the user are cached.
+     * @param username the username to search for
+     * @return Optional containing the user if found
+     */
+    Optional<User> findByUsername(String username);
+
+    /**
+     * Check if the user is in the second-level cache, so loading it by id needs no query
+     * @param id the user id
+     * @return true if the entity is cached
+     */
+    boolean isCached(Long id);
+
+    /**
+     * Resolve a username through the natural-id cache only, never querying the table
+     * @param username the username to look up
+     * @return Optional containing the cached user id, empty if the username is not cached
+     */
+    Optional<Long> findCachedIdByUsername(String username);
+}
@@ -0,0 +1,52 @@
+package com.usermanagement.repository;
+
+import com.usermanagement.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.metamodel.mapping.NaturalIdMapping;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * User Repository Custom Operations - Hibernate implementation
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+
+    @Override
+    public boolean isCached(Long id) {
+        return entityManager.getEntityManagerFactory().getCache().contains(User.class, id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findCachedIdByUsername(String username) {
+        EntityPersister persister = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(User.class);
+        NaturalIdMapping naturalId = persister.getNaturalIdMapping();
+        NaturalIdDataAccess cacheAccess = naturalId.getCacheAccess();
+        if (cacheAccess == null) {
+            return Optional.empty();
+        }
+
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        Object key = cacheAccess.generateCacheKey(naturalId.normalizeInput(username), persister, session);
+        return cacheAccess.get(session, key) instanceof Long id ? Optional.of(id) : Optional.empty();
+    }
+}
@@ -0,0 +1,152 @@
+package com.usermanagement.service;
+
+import com.usermanagement.entity.RefreshToken;
+import com.usermanagement.entity.User;
+import com.usermanagement.repository.RefreshTokenRepository;
+import com.usermanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh Token Service - Business Logic Layer
+ * Issues and rotates single-use refresh tokens so clients can renew short-lived access tokens
+ * with a hash lookup instead of a full password check
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final long refreshTokenValidityMillis;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                               @Value("${jwt.refresh-token-validity-ms:1209600000}") long refreshTokenValidityMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.refreshTokenValidityMillis = refreshTokenValidityMillis;
+    }
+
+    /**
+     * Issue a refresh token starting a new rotation family
+     * @return the raw token, only its hash is stored
+     */
+    @Transactional
+    public String issue(User user) {
+        return issue(user.getId(), UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchange a refresh token for its successor.
+     * Presenting a token that was already rotated revokes the whole family.
+     */
+    @Transactional(noRollbackFor = RuntimeException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+
+        if (token.isRevoked()) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+
+        if (token.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Refresh token expired");
+        }
+
+        // Conditional update so two concurrent refreshes cannot both consume the token
+        if (token.isUsed() || refreshTokenRepository.markUsed(token.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            log.warn("Refresh token reuse detected for user {}, family {} revoked", token.getUserId(), token.getFamilyId());
+            throw new RuntimeException("Refresh token reuse detected");
+        }
+
+        // Read past the node-local cache so a deleted or demoted user cannot keep refreshing
+        User user = userRepository.findUncachedById(token.getUserId())
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+
+        return new Rotation(user, issue(user.getId(), token.getFamilyId()));
+    }
+
+    /**
+     * Revoke the rotation family of a refresh token (logout).
+     * A token issued to another user is left alone, so a user cannot log someone else out.
+     * @param userId the user logging out
+     */
+    @Transactional
+    public void revokeFamily(String rawToken, Long userId) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken)).ifPresent(token -> {
+            if (!token.getUserId().equals(userId)) {
+                log.warn("User {} tried to revoke a refresh token of user {}", userId, token.getUserId());
+                return;
+            }
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+        });
+    }
+
+    /**
+     * Delete every refresh token of a user
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Remove expired refresh tokens
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deleteExpired() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    public long getRefreshTokenValidityMillis() {
+        return refreshTokenValidityMillis;
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setUserId(userId);
+        token.setFamilyId(familyId);
+        token.setExpiresAt(LocalDateTime.now().plusNanos(refreshTokenValidityMillis * 1_000_000));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Result of a successful rotation: the token owner and the replacement refresh token
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.usermanagement.service;
+
+import com.usermanagement.config.TokenRevocationList;
+import com.usermanagement.dto.BulkUserRequest;
+import com.usermanagement.dto.UserFilter;
+import com.usermanagement.entity.User;
+import com.usermanagement.repository.RefreshTokenRepository;
+import com.usermanagement.repository.UserDeletionRepository;
+import com.usermanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * User Bulk Service - Business Logic Layer
+ * Deletes users or changes their role for a list of ids or a filter. Every chunk of ids is handled
+ * by one set-based statement in its own transaction, without loading entities, and the acting
+ * admin is never affected. Tokens of affected users are revoked once their chunk has committed.
+ */
+@Service
+public class UserBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserBulkService.class);
+
+    private final UserRepository userRepository;
+    private final UserDeletionRepository userDeletionRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationList tokenRevocationList;
+    private final UserSearchIndex userSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public UserBulkService(UserRepository userRepository, UserDeletionRepository userDeletionRepository,
+                           RefreshTokenRepository refreshTokenRepository,
+                           TokenRevocationList tokenRevocationList, UserSearchIndex userSearchIndex,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${user.bulk.chunk-size:1000}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.userDeletionRepository = userDeletionRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationList = tokenRevocationList;
+        this.userSearchIndex = userSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    /**
+     * Delete the users selected by ids or filter, except the acting admin
+     * @return number of deleted users
+     */
+    public long deleteUsers(BulkUserRequest request, Long currentUserId) {
+        validateTarget(request);
+
+        long deleted = forEachChunk(request, currentUserId, ids -> {
+            refreshTokenRepository.deleteByUserIds(ids);
+            // The acting admin is never in a chunk, so the recorded ids are exactly the deleted ones
+            userDeletionRepository.recordDeletions(ids);
+            int count = userRepository.deleteByIds(ids, currentUserId);
+            return new ChunkResult(count, () -> ids.forEach(id -> {
+                userSearchIndex.remove(id);
+                tokenRevocationList.revokeUser(id, Integer.MAX_VALUE);
+            }));
+        });
+
+        log.info("Bulk delete by admin {} removed {} users", currentUserId, deleted);
+        return deleted;
+    }
+
+    /**
+     * Change the role of the users selected by ids or filter, except the acting admin.
+     * Access tokens of changed users are revoked because they carry the old role;
+     * refresh tokens stay valid and issue tokens with the new role.
+     *
+     * @return number of users whose role changed
+     */
+    public long updateRole(BulkUserRequest request, Long currentUserId) {
+        validateTarget(request);
+        String role = request.getRole();
+        if (role == null || !User.ROLES.contains(role)) {
+            throw new RuntimeException("Role must be USER or ADMIN");
+        }
+
+        long updated = forEachChunk(request, currentUserId, ids -> {
+            int count = userRepository.updateRoleByIds(ids, role, currentUserId);
+            List<UserRepository.TokenVersionView> versions =
+                    count == 0 ? List.of() : userRepository.findTokenVersions(ids, role);
+            return new ChunkResult(count, () -> versions.forEach(
+                    version -> tokenRevocationList.revokeUser(version.getId(), version.getTokenVersion())));
+        });
+
+        log.info("Bulk role update by admin {} set role {} on {} users", currentUserId, role, updated);
+        return updated;
+    }
+
+    private static void validateTarget(BulkUserRequest request) {
+        boolean byIds = request.getIds() != null;
+        boolean byFilter = request.getFilter() != null;
+        if (byIds == byFilter) {
+            throw new RuntimeException("Either ids or filter is required");
+        }
+        if (byFilter && request.getFilter().isEmpty()) {
+            throw new RuntimeException("Filter needs at least one criterion");
+        }
+    }
+
+    /**
+     * Run the statement for every chunk of selected ids, each chunk in its own transaction,
+     * and the chunk's follow-up once it has committed
+     * @return sum of the affected row counts
+     */
+    private long forEachChunk(BulkUserRequest request, Long currentUserId, Function<List<Long>, ChunkResult> statement) {
+        long affected = 0;
+
+        if (request.getIds() != null) {
+            List<Long> ids = request.getIds().stream()
+                    .filter(id -> id != null && !id.equals(currentUserId))
+                    .distinct()
+                    .toList();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                ChunkResult result = transactionTemplate.execute(status -> statement.apply(chunk));
+                result.afterCommit().run();
+                affected += result.affected();
+            }
+            return affected;
+        }
+
+        UserFilter filter = request.getFilter();
+        String emailPattern = filter.getEmailDomain() == null ? null : "%@" + filter.getEmailDomain()
+                .replace("!", "!!").replace("%", "!%").replace("_", "!_");
+
+        // Keyset over matching ids; each chunk is selected in the same transaction as its statement
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Long> chunk = new ArrayList<>(chunkSize);
+            ChunkResult result = transactionTemplate.execute(status -> {
+                chunk.addAll(userRepository.findIdsByFilter(filter.getRole(), emailPattern,
+                        filter.getCreatedBefore(), from, currentUserId, PageRequest.of(0, chunkSize)));
+                return chunk.isEmpty() ? null : statement.apply(chunk);
+            });
+            if (result == null) {
+                return affected;
+            }
+            result.afterCommit().run();
+            affected += result.affected();
+            afterId = chunk.get(chunk.size() - 1);
+        }
+    }
+
+    /**
+     * Affected row count of one chunk and what to do once it has committed
+     */
+    private record ChunkResult(int affected, Runnable afterCommit) {
+    }
+}
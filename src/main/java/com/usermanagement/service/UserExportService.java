@@ -0,0 +1,111 @@
+package com.usermanagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.usermanagement.dto.UserDTO;
+import com.usermanagement.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * User Export Service - Business Logic Layer
+ * Streams the full user directory as NDJSON or CSV. Rows are read as unmanaged DTOs through a
+ * forward-only cursor and written as they arrive, so memory stays flat regardless of table size.
+ */
+@Service
+public class UserExportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    private static final String CSV_HEADER = "id,username,email,role,phoneNumber,dateOfBirth,createdAt";
+
+    private final UserRepository userRepository;
+    private final ObjectWriter jsonWriter;
+
+    @Autowired
+    public UserExportService(UserRepository userRepository, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.jsonWriter = objectMapper.writerFor(UserDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Check if a format is supported
+     */
+    public static boolean isSupportedFormat(String format) {
+        return FORMAT_NDJSON.equals(format) || FORMAT_CSV.equals(format);
+    }
+
+    /**
+     * Write every user to the writer in the given format
+     * @return number of exported users
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(String format, Writer writer) throws IOException {
+        if (!isSupportedFormat(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+
+        try (Stream<UserDTO> users = userRepository.streamAllOrderById()) {
+            return FORMAT_NDJSON.equals(format) ? writeNdjson(users.iterator(), writer) : writeCsv(users.iterator(), writer);
+        }
+    }
+
+    private long writeNdjson(Iterator<UserDTO> users, Writer writer) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = jsonWriter.createGenerator(writer)) {
+            generator.setRootValueSeparator(null);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (users.hasNext()) {
+                jsonWriter.writeValue(generator, users.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<UserDTO> users, Writer writer) throws IOException {
+        long count = 0;
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (users.hasNext()) {
+            UserDTO user = users.next();
+            writer.write(String.valueOf(user.getId()));
+            writeCsvField(writer, user.getUsername());
+            writeCsvField(writer, user.getEmail());
+            writeCsvField(writer, user.getRole());
+            writeCsvField(writer, user.getPhoneNumber());
+            writeCsvField(writer, user.getDateOfBirth());
+            writeCsvField(writer, user.getCreatedAt() == null ? null : user.getCreatedAt().toString());
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,377 @@
+package com.usermanagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.usermanagement.config.BoundedPasswordEncoder;
+import com.usermanagement.dto.UserImportResult;
+import com.usermanagement.dto.UserImportRow;
+import com.usermanagement.entity.User;
+import com.usermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * User Import Service - Business Logic Layer
+ * Bulk-creates users from a JSON array or NDJSON upload. The upload is parsed incrementally and
+ * processed in chunks: rows are validated, checked against existing usernames and emails with one
+ * query each, raw passwords are hashed in parallel on a dedicated pool, and the chunk is inserted
+ * in JDBC batches in its own transaction. A result per row is written as each chunk completes.
+ *
+ * Rows may carry an existing BCrypt hash instead of a raw password. Hashing is by far the most
+ * expensive step, so migrations from another system should import hashes. Hashes below
+ * user.import.min-hash-strength are refused; hashes at or above it but below the cost this node
+ * hashes with stay as imported until the user's next login, which re-hashes them (upgradeEncoding).
+ *
+ * ADMIN rows are refused unless user.import.allow-admin is set, so an import cannot create
+ * administrators unnoticed; grant the role afterwards through the role update instead.
+ */
+@Service
+public class UserImportService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    static final String METRIC_NAME = "user.import.hashing";
+
+    private static final String BCRYPT_PREFIX = "{bcrypt}";
+    private static final Pattern BCRYPT_HASH = Pattern.compile("\\$2[aby]?\\$(\\d{2})\\$[./A-Za-z0-9]{53}");
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter resultWriter;
+    private final Validator validator;
+    private final UserSearchIndex userSearchIndex;
+    private final int chunkSize;
+    private final boolean allowAdmin;
+    private final int minHashStrength;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService hashingExecutor;
+
+    @Autowired
+    public UserImportService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                             ObjectMapper objectMapper, Validator validator, UserSearchIndex userSearchIndex,
+                             MeterRegistry meterRegistry,
+                             @Value("${user.import.chunk-size:1000}") int chunkSize,
+                             @Value("${user.import.hashing.pool-size:0}") int poolSize,
+                             @Value("${user.import.allow-admin:false}") boolean allowAdmin,
+                             @Value("${user.import.min-hash-strength:${password.hashing.bcrypt.min-strength:10}}") int minHashStrength) {
+        this.userRepository = userRepository;
+        // Hash on the import pool directly instead of queueing behind logins on the bounded pool
+        this.passwordEncoder = passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? bounded.getDelegate() : passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.resultWriter = objectMapper.writerFor(UserImportResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.validator = validator;
+        this.userSearchIndex = userSearchIndex;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.allowAdmin = allowAdmin;
+        this.minHashStrength = minHashStrength;
+
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("user-import-hashing-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        this.hashingExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, METRIC_NAME);
+    }
+
+    /**
+     * Import every row of a JSON array or NDJSON stream, writing one NDJSON result per row.
+     * Each chunk commits on its own, so rows of earlier chunks stay imported if a later row fails.
+     * A syntax error ends the import with an error result for the row it occurred in.
+     *
+     * @return number of created and failed rows
+     */
+    public ImportSummary importUsers(InputStream in, Writer out) throws IOException {
+        long rows = 0;
+        long created = 0;
+        String syntaxError = null;
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in);
+             JsonGenerator generator = resultWriter.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            try {
+                // A top-level array holds the rows; otherwise every root value is a row (NDJSON)
+                JsonToken token = parser.nextToken();
+                boolean array = token == JsonToken.START_ARRAY;
+                if (array) {
+                    token = parser.nextToken();
+                }
+
+                while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                    JsonNode node = parser.readValueAsTree();
+                    chunk.add(readRow(++rows, node));
+                    if (chunk.size() == chunkSize) {
+                        created += write(generator, processChunk(chunk));
+                        chunk.clear();
+                        generator.flush();
+                    }
+                    token = parser.nextToken();
+                }
+            } catch (JsonProcessingException e) {
+                syntaxError = "Malformed JSON: " + e.getOriginalMessage();
+            }
+
+            created += write(generator, processChunk(chunk));
+            if (syntaxError != null) {
+                write(generator, List.of(UserImportResult.failed(++rows, syntaxError)));
+            }
+        }
+
+        log.info("User import finished: {} created, {} failed", created, rows - created);
+        return new ImportSummary(created, rows - created);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private PendingRow readRow(long row, JsonNode node) {
+        if (!node.isObject()) {
+            return PendingRow.failed(row, "Row must be a JSON object");
+        }
+        try {
+            return new PendingRow(row, objectMapper.treeToValue(node, UserImportRow.class));
+        } catch (JsonProcessingException e) {
+            return PendingRow.failed(row, "Invalid row: " + e.getOriginalMessage());
+        }
+    }
+
+    private List<UserImportResult> processChunk(List<PendingRow> chunk) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+
+        // Validate and reject duplicates within the chunk
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (PendingRow pending : chunk) {
+            if (pending.error == null) {
+                pending.error = validate(pending);
+            }
+            if (pending.error == null && !usernames.add(pending.user.getUsername())) {
+                pending.error = "Username already exists";
+            } else if (pending.error == null && !emails.add(pending.user.getEmail())) {
+                pending.error = "Email already exists";
+            }
+        }
+
+        // Reject rows colliding with existing users, one query per field for the whole chunk
+        Set<String> existingUsernames = usernames.isEmpty() ? Set.of()
+                : new HashSet<>(userRepository.findExistingUsernames(usernames));
+        Set<String> existingEmails = emails.isEmpty() ? Set.of()
+                : new HashSet<>(userRepository.findExistingEmails(emails));
+        List<PendingRow> accepted = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            if (pending.error != null) {
+                continue;
+            }
+            if (existingUsernames.contains(pending.user.getUsername())) {
+                pending.error = "Username already exists";
+            } else if (existingEmails.contains(pending.user.getEmail())) {
+                pending.error = "Email already exists";
+            } else {
+                accepted.add(pending);
+            }
+        }
+
+        hashPasswords(accepted);
+        insert(accepted);
+        for (PendingRow pending : accepted) {
+            if (pending.error == null) {
+                userSearchIndex.put(pending.user.getId(), pending.user.getUsername(), pending.user.getEmail(),
+                        pending.user.getVersion());
+            }
+        }
+
+        List<UserImportResult> results = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            results.add(pending.error != null ? UserImportResult.failed(pending.row, pending.error)
+                    : UserImportResult.created(pending.row, pending.user.getId()));
+        }
+        return results;
+    }
+
+    private String validate(PendingRow pending) {
+        UserImportRow row = pending.data;
+        User user = new User();
+        user.setUsername(row.getUsername());
+        user.setEmail(row.getEmail());
+        user.setPhoneNumber(row.getPhoneNumber());
+        user.setDateOfBirth(row.getDateOfBirth());
+        user.setRole(row.getRole() == null ? "USER" : row.getRole());
+
+        if (!User.ROLES.contains(user.getRole())) {
+            return "Role must be USER or ADMIN";
+        }
+        if ("ADMIN".equals(user.getRole()) && !allowAdmin) {
+            return "Importing ADMIN users is disabled";
+        }
+
+        String error = firstViolation(user, "username");
+        if (error == null) {
+            error = firstViolation(user, "email");
+        }
+        if (error != null) {
+            return error;
+        }
+
+        if (row.getPasswordHash() != null) {
+            String hash = row.getPasswordHash().startsWith(BCRYPT_PREFIX)
+                    ? row.getPasswordHash().substring(BCRYPT_PREFIX.length()) : row.getPasswordHash();
+            Matcher matcher = BCRYPT_HASH.matcher(hash);
+            if (!matcher.matches()) {
+                return "Password hash must be a BCrypt hash";
+            }
+            if (Integer.parseInt(matcher.group(1)) < minHashStrength) {
+                return "Password hash cost must be at least " + minHashStrength;
+            }
+            user.setPassword(BCRYPT_PREFIX + hash);
+        } else {
+            user.setPassword(row.getPassword());
+            error = firstViolation(user, "password");
+            if (error != null) {
+                return error;
+            }
+            pending.needsHash = true;
+        }
+
+        pending.user = user;
+        return null;
+    }
+
+    private String firstViolation(User user, String property) {
+        Set<ConstraintViolation<User>> violations = validator.validateProperty(user, property);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private void hashPasswords(List<PendingRow> accepted) {
+        List<Future<String>> hashes = new ArrayList<>(accepted.size());
+        for (PendingRow pending : accepted) {
+            String rawPassword = pending.user.getPassword();
+            hashes.add(pending.needsHash ? hashingExecutor.submit(() -> passwordEncoder.encode(rawPassword)) : null);
+        }
+
+        try {
+            for (int i = 0; i < accepted.size(); i++) {
+                if (hashes.get(i) != null) {
+                    accepted.get(i).user.setPassword(hashes.get(i).get());
+                }
+            }
+        } catch (InterruptedException e) {
+            hashes.forEach(future -> {
+                if (future != null) {
+                    future.cancel(true);
+                }
+            });
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void insert(List<PendingRow> accepted) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<User> users = accepted.stream().map(pending -> pending.user).toList();
+        try {
+            userRepository.saveAllAndFlush(users);
+            return;
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent signup took a username or email after the pre-check; find the row row by row
+            log.debug("Batch insert of {} imported users failed, retrying row by row", users.size());
+        }
+
+        for (PendingRow pending : accepted) {
+            pending.user.setId(null);
+            pending.user.setVersion(null);
+            try {
+                userRepository.saveAndFlush(pending.user);
+            } catch (DataIntegrityViolationException e) {
+                pending.error = UserService.translateViolation(e).getMessage();
+            }
+        }
+    }
+
+    /**
+     * Write results as NDJSON lines
+     * @return number of created rows among them
+     */
+    private int write(JsonGenerator generator, List<UserImportResult> results) throws IOException {
+        int created = 0;
+        for (UserImportResult result : results) {
+            resultWriter.writeValue(generator, result);
+            generator.writeRaw('\n');
+            if (UserImportResult.CREATED.equals(result.getStatus())) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Outcome of an import: number of created and failed rows
+     */
+    public record ImportSummary(long created, long failed) {
+    }
+
+    private static final class PendingRow {
+
+        private final long row;
+        private final UserImportRow data;
+        private User user;
+        private boolean needsHash;
+        private String error;
+
+        PendingRow(long row, UserImportRow data) {
+            this.row = row;
+            this.data = data;
+        }
+
+        static PendingRow failed(long row, String error) {
+            PendingRow pending = new PendingRow(row, null);
+            pending.error = error;
+            return pending;
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package com.usermanagement.service;
+
+import com.usermanagement.dto.UserDTO;
+import com.usermanagement.repository.UserDeletionRepository;
+import com.usermanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * User Search Index
+ * In-memory index over usernames and emails (case-insensitive) answering prefix and substring
+ * queries without scanning the users table. Prefixes are looked up in sorted maps; substrings of
+ * three or more characters intersect the posting lists of their trigrams and verify the few
+ * remaining candidates. The index is built at startup and kept in sync by every write path.
+ *
+ * It is local to this node, so writes made through other nodes are picked up by a refresh every
+ * user.search.refresh-interval-ms. A refresh only reads the users whose updated_at and the
+ * deletion records whose deleted_at lie after the previous refresh (minus
+ * user.search.refresh-overlap-ms, which must cover clock skew between nodes and the longest write
+ * transaction), using their indexes. Entries carry the row version, so an older row never
+ * replaces a newer one whichever arrives first. Changes are applied in chunks, each under one
+ * acquisition of the write lock. A node that could not refresh for longer than
+ * user.search.deletion-retention-ms rebuilds from the whole table instead.
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final int GRAM = 3;
+
+    // Users applied per acquisition of the write lock, so a large refresh does not stall searches
+    static final int APPLY_CHUNK_SIZE = 500;
+
+    // Separates the indexed value from the id in sorted map keys; sorts below every printable character
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final UserRepository userRepository;
+    private final UserDeletionRepository userDeletionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration overlap;
+    private final Duration deletionRetention;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock refreshLock = new ReentrantLock();
+
+    // Start of the last successful refresh; null until the first full build
+    private volatile LocalDateTime lastRefresh;
+
+    // Ids added on this node while a full rebuild streams the table, which it must not remove
+    private volatile Set<Long> addedDuringRebuild;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, Long> byUsername = new TreeMap<>();
+    private final NavigableMap<String, Long> byEmail = new TreeMap<>();
+    private final Map<Long, Postings> trigrams = new HashMap<>();
+
+    @Autowired
+    public UserSearchIndex(UserRepository userRepository, UserDeletionRepository userDeletionRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${user.search.refresh-overlap-ms:30000}") long overlapMillis,
+                           @Value("${user.search.deletion-retention-ms:86400000}") long deletionRetentionMillis) {
+        this.userRepository = userRepository;
+        this.userDeletionRepository = userDeletionRepository;
+        // Read-write so refreshes read the primary: a lagging replica would miss rows inside the overlap
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.overlap = Duration.ofMillis(overlapMillis);
+        this.deletionRetention = Duration.ofMillis(deletionRetentionMillis);
+    }
+
+    /**
+     * Build the index once the application has started, then apply the users changed and deleted
+     * since the previous refresh
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${user.search.refresh-interval-ms:60000}",
+            fixedDelayString = "${user.search.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            LocalDateTime startedAt = LocalDateTime.now();
+            LocalDateTime previous = lastRefresh;
+            if (previous == null || previous.isBefore(startedAt.minus(deletionRetention).plus(overlap))) {
+                int changed = transactionTemplate.execute(status -> {
+                    try (Stream<UserDTO> users = userRepository.streamAllOrderById()) {
+                        return reconcile(users);
+                    }
+                });
+                log.info("Search index rebuilt with {} users ({} changed) in {} ms",
+                        size(), changed, (System.nanoTime() - start) / 1_000_000);
+            } else {
+                LocalDateTime since = previous.minus(overlap);
+                int changed = transactionTemplate.execute(status -> {
+                    List<Long> deleted = userDeletionRepository.findUserIdsDeletedSince(since);
+                    try (Stream<UserDTO> users = userRepository.streamChangedSinceOrderById(since)) {
+                        return applyChanges(users, deleted);
+                    }
+                });
+                log.debug("Search index refreshed, {} users changed in {} ms",
+                        changed, (System.nanoTime() - start) / 1_000_000);
+            }
+            lastRefresh = startedAt;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Purge deletion records older than user.search.deletion-retention-ms; every node has refreshed
+     * past them, or rebuilds from the whole table
+     */
+    @Scheduled(fixedDelayString = "${user.search.deletion-purge-interval-ms:3600000}")
+    public void purgeDeletions() {
+        int purged = userDeletionRepository.deleteRecordedBefore(LocalDateTime.now().minus(deletionRetention));
+        log.debug("Purged {} user deletion records", purged);
+    }
+
+    /**
+     * Apply changed users and remove deleted ones
+     *
+     * @return number of users added, updated or removed
+     */
+    int applyChanges(Stream<UserDTO> changedUsers, Collection<Long> deletedIds) {
+        int changed = indexInChunks(changedUsers, null);
+        lock.writeLock().lock();
+        try {
+            for (Long id : deletedIds) {
+                if (removeLocked(id)) {
+                    changed++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return changed;
+    }
+
+    /**
+     * Make the index match the given users, the whole table: add or update every one of them and
+     * remove the ids that are missing, except those added through this index meanwhile
+     *
+     * @return number of users added, updated or removed
+     */
+    int reconcile(Stream<UserDTO> users) {
+        Set<Long> added = ConcurrentHashMap.newKeySet();
+        addedDuringRebuild = added;
+        try {
+            Set<Long> seen = new HashSet<>();
+            int changed = indexInChunks(users, seen);
+
+            lock.writeLock().lock();
+            try {
+                List<Long> missing = entries.keySet().stream()
+                        .filter(id -> !seen.contains(id) && !added.contains(id))
+                        .toList();
+                missing.forEach(this::removeLocked);
+                return changed + missing.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            addedDuringRebuild = null;
+        }
+    }
+
+    /**
+     * Add a user, or replace the indexed username and email of an existing one
+     *
+     * @param version row version of the written user; an indexed newer version is kept
+     */
+    public void put(Long id, String username, String email, long version) {
+        Set<Long> added = addedDuringRebuild;
+        if (added != null) {
+            added.add(id);
+        }
+        lock.writeLock().lock();
+        try {
+            indexLocked(id, username, email, version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a user, ignoring ids that are not indexed
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find users whose username or email starts with or contains the query, case-insensitive.
+     * Username prefix matches come first, then email prefix matches, then other substring matches;
+     * queries shorter than three characters only match prefixes.
+     *
+     * @return ids of at most limit matching users, best matches first
+     */
+    public List<Long> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            collectPrefix(byUsername, q, ids, limit);
+            collectPrefix(byEmail, q, ids, limit);
+            if (q.length() >= GRAM && ids.size() < limit) {
+                collectSubstring(q, ids, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * Number of indexed users
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int indexInChunks(Stream<UserDTO> users, Set<Long> seen) {
+        int changed = 0;
+        List<UserDTO> chunk = new ArrayList<>(APPLY_CHUNK_SIZE);
+        Iterator<UserDTO> iterator = users.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == APPLY_CHUNK_SIZE || !iterator.hasNext()) {
+                lock.writeLock().lock();
+                try {
+                    for (UserDTO user : chunk) {
+                        if (seen != null) {
+                            seen.add(user.getId());
+                        }
+                        if (indexLocked(user.getId(), user.getUsername(), user.getEmail(), user.getVersion())) {
+                            changed++;
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                chunk.clear();
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return false if the user was already indexed at this or a newer version
+     */
+    private boolean indexLocked(Long id, String username, String email, long version) {
+        Entry previous = entries.get(id);
+        if (previous != null && previous.version >= version) {
+            return false;
+        }
+        Entry entry = new Entry(normalize(username), normalize(email), version);
+        entries.put(id, entry);
+        if (previous != null) {
+            unindex(id, previous);
+        }
+        byUsername.put(key(entry.username, id), id);
+        byEmail.put(key(entry.email, id), id);
+        for (long gram : grams(entry)) {
+            trigrams.computeIfAbsent(gram, g -> new Postings()).add(id);
+        }
+        return true;
+    }
+
+    private boolean removeLocked(Long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            unindex(id, previous);
+        }
+        return previous != null;
+    }
+
+    private void unindex(Long id, Entry entry) {
+        byUsername.remove(key(entry.username, id));
+        byEmail.remove(key(entry.email, id));
+        for (long gram : grams(entry)) {
+            Postings postings = trigrams.get(gram);
+            if (postings != null && postings.remove(id) && postings.isEmpty()) {
+                trigrams.remove(gram);
+            }
+        }
+    }
+
+    private static void collectPrefix(NavigableMap<String, Long> index, String prefix, Set<Long> ids, int limit) {
+        for (Long id : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (ids.size() >= limit) {
+                return;
+            }
+            ids.add(id);
+        }
+    }
+
+    private void collectSubstring(String q, Set<Long> ids, int limit) {
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            Postings postings = trigrams.get(gram(q, i));
+            if (postings == null) {
+                return;
+            }
+            lists.add(postings);
+        }
+
+        // Walk the rarest trigram and probe the others; trigram hits can still miss the substring
+        lists.sort(Comparator.comparingInt(Postings::size));
+        Postings rarest = lists.get(0);
+        for (int i = 0; i < rarest.size() && ids.size() < limit; i++) {
+            long id = rarest.get(i);
+            if (ids.contains(id) || !containsAll(lists, id)) {
+                continue;
+            }
+            Entry entry = entries.get(id);
+            if (entry.username.contains(q) || entry.email.contains(q)) {
+                ids.add(id);
+            }
+        }
+    }
+
+    private static boolean containsAll(List<Postings> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<Long> grams(Entry entry) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String value : new String[]{entry.username, entry.email}) {
+            for (int i = 0; i + GRAM <= value.length(); i++) {
+                grams.add(gram(value, i));
+            }
+        }
+        return grams;
+    }
+
+    // Three UTF-16 chars packed into one long
+    private static long gram(String value, int offset) {
+        return ((long) value.charAt(offset) << 32) | ((long) value.charAt(offset + 1) << 16) | value.charAt(offset + 2);
+    }
+
+    private static String key(String value, Long id) {
+        return value + KEY_SEPARATOR + id;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(String username, String email, long version) {
+    }
+
+    /**
+     * Sorted set of user ids backed by a primitive array. Ids are mostly appended in increasing
+     * order, which keeps inserts cheap.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        long get(int index) {
+            return ids[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -1,37 +1,102 @@
 package com.usermanagement.service;
 
+import com.usermanagement.config.RequestTimings;
+import com.usermanagement.config.TokenRevocationList;
 import com.usermanagement.dto.UserDTO;
+import com.usermanagement.dto.UserPage;
 import com.usermanagement.entity.User;
+import com.usermanagement.exception.HashingCapacityExceededException;
+import com.usermanagement.exception.PreconditionFailedException;
+import com.usermanagement.repository.UserDeletionRepository;
 import com.usermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * User Service - Business Logic Layer
- * Handles user-related operations and implements UserDetailsService for Spring Security
+ * Handles user-related operations and implements UserDetailsService for Spring Security.
+ * user.details.load times loadUserByUsername and user.authenticate times login checks
+ * (lookup, password match and any re-hash), both tagged with their outcome.
  */
 @Service
 @Primary
 public class UserService implements UserDetailsService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public static final int DEFAULT_SEARCH_LIMIT = 10;
+    public static final int MAX_SEARCH_LIMIT = 50;
+
+    // Fields a merge patch may change, and those it may remove with null
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("username", "email", "password", "phoneNumber", "dateOfBirth");
+    private static final Set<String> NULLABLE_FIELDS = Set.of("phoneNumber", "dateOfBirth");
+
+    private static final String SORT_ID_ASC = "id";
+    private static final String SORT_ID_DESC = "id,desc";
+    private static final String SORT_CREATED_AT_ASC = "createdAt";
+    private static final String SORT_CREATED_AT_DESC = "createdAt,desc";
+
+    // Keyset bounds for the first page of a creation-time sort
+    private static final LocalDateTime FIRST_CREATED_AT = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime LAST_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59);
+
     private final UserRepository userRepository;
+    private final UserDeletionRepository userDeletionRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationList tokenRevocationList;
+    private final RefreshTokenService refreshTokenService;
+    private final UserSearchIndex userSearchIndex;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, UserDeletionRepository userDeletionRepository,
+                       PasswordEncoder passwordEncoder,
+                       TokenRevocationList tokenRevocationList, RefreshTokenService refreshTokenService,
+                       UserSearchIndex userSearchIndex, Validator validator, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.userDeletionRepository = userDeletionRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tokenRevocationList = tokenRevocationList;
+        this.refreshTokenService = refreshTokenService;
+        this.userSearchIndex = userSearchIndex;
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -39,8 +104,10 @@ public class UserService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        long start = System.nanoTime();
+        Optional<User> found = userRepository.findUncachedByUsername(username);
+        recordTime("user.details.load", found.isPresent() ? "found" : "not_found", start);
+        User user = found.orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
         return new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
@@ -50,91 +117,208 @@ public class UserService implements UserDetailsService {
     }
 
     /**
-     * Register a new user with encrypted password
+     * Register a new user with encrypted password.
+     * Uniqueness is enforced by the database constraints in a single insert. Only a signup into
+     * an empty users table becomes ADMIN; the admin bootstrap constraint decides which one wins
+     * when several arrive at once. Once any user exists ADMIN is never granted here, even if the
+     * bootstrap admin was deleted.
      */
     public User registerUser(User user) {
-        // Check if username already exists
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new RuntimeException("Username already exists");
-        }
-
-        // Check if email already exists
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new RuntimeException("Email already exists");
-        }
+        // Encrypt password before saving
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
 
         // Assign role: first user is ADMIN, others are USER
-        long userCount = userRepository.count();
-        if (userCount == 0) {
+        if (!userRepository.existsByIdNotNull()) {
             user.setRole("ADMIN");
-        } else {
-            user.setRole("USER");
+            user.setAdminBootstrap(Boolean.TRUE);
+            try {
+                User savedUser = userRepository.saveAndFlush(user);
+                userSearchIndex.put(savedUser.getId(), savedUser.getUsername(), savedUser.getEmail(),
+                        savedUser.getVersion());
+                return savedUser;
+            } catch (DataIntegrityViolationException e) {
+                if (!violates(e, User.UK_ADMIN_BOOTSTRAP)) {
+                    throw translateViolation(e);
+                }
+                // Another signup became the first ADMIN concurrently
+                user.setId(null);
+            }
         }
 
-        // Encrypt password before saving
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        user.setRole("USER");
+        user.setAdminBootstrap(null);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw translateViolation(e);
+        }
+        userSearchIndex.put(savedUser.getId(), savedUser.getUsername(), savedUser.getEmail(), savedUser.getVersion());
+        return savedUser;
     }
 
     /**
-     * Authenticate user with username and password
+     * Authenticate user with username and password.
+     * A password hashed with outdated parameters is transparently re-hashed and saved.
+     * The user is read from the database rather than the node-local cache, so a password or role
+     * change made on another node applies immediately.
      */
     public User authenticateUser(String username, String password) {
-        User user = userRepository.findByUsername(username)
+        long start = System.nanoTime();
+        String outcome = "failure";
+        try {
+            User user = checkCredentials(username, password);
+            outcome = "success";
+            return user;
+        } finally {
+            recordTime("user.authenticate", outcome, start);
+        }
+    }
+
+    private User checkCredentials(String username, String password) {
+        User user = userRepository.findUncachedByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Invalid username or password"));
 
         if (!passwordEncoder.matches(password, user.getPassword())) {
             throw new RuntimeException("Invalid username or password");
         }
 
+        // Re-hash with the current algorithm and cost while the raw password is at hand
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user = upgradePassword(user, password);
+        }
+
         return user;
     }
 
     /**
-     * Get user by ID
+     * Save the password re-hashed with the current parameters. Best effort: the password was already
+     * verified, so a busy hashing pool or a failed save (another login re-hashing the same row first,
+     * a concurrent update) keeps the old hash for the next login instead of failing this one.
+     */
+    private User upgradePassword(User user, String password) {
+        String previousHash = user.getPassword();
+        try {
+            user.setPassword(passwordEncoder.encode(password));
+            return userRepository.save(user);
+        } catch (HashingCapacityExceededException e) {
+            log.debug("Skipping password re-hash for user {}, hashing pool is busy", user.getId());
+        } catch (DataAccessException e) {
+            log.debug("Skipping password re-hash for user {}, save failed: {}", user.getId(), e.getMessage());
+        }
+        user.setPassword(previousHash);
+        return user;
+    }
+
+    /**
+     * Get user by ID as DTO: from the second-level cache when the user is cached, otherwise read
+     * by projection without loading the entity (or its password hash).
+     * The cache is node-local, so a change made on another node can be missed for up to the
+     * region TTL (30 seconds, application.conf); writes and logins never rely on this read.
+     */
+    public UserDTO getUserById(Long id) {
+        Optional<UserDTO> user = userRepository.isCached(id)
+                ? userRepository.findById(id).map(this::convertToDTO)
+                : userRepository.findDtoById(id);
+        return user.orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+    }
+
+    /**
+     * Get user by ID as DTO read from the primary database, never from the node-local cache.
+     * For revalidation: an ETag compared against a stale cached version would answer 304 for a
+     * user changed on another node.
      */
-    public User getUserById(Long id) {
-        return userRepository.findById(id)
+    public UserDTO getUncachedUserById(Long id) {
+        return userRepository.findUncachedDtoById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
 
     /**
-     * Get user by username
+     * Get user by username as DTO: through the natural-id and entity caches when both hold the
+     * user, otherwise read by projection without loading the entity.
+     * Like getUserById, a cached result can be stale across nodes for up to the region TTL.
      */
-    public User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
+    public UserDTO getUserByUsername(String username) {
+        boolean cached = userRepository.findCachedIdByUsername(username).filter(userRepository::isCached).isPresent();
+        Optional<UserDTO> user = cached
+                ? userRepository.findByUsername(username).map(this::convertToDTO)
+                : userRepository.findDtoByUsername(username);
+        return user.orElseThrow(() -> new RuntimeException("User not found with username: " + username));
     }
 
     /**
-     * Get all users as DTOs (without passwords)
+     * Search users by username or email prefix or substring through the search index
+     * @param query text to find, case-insensitive
+     * @param limit maximum number of results, capped at MAX_SEARCH_LIMIT
+     * @return matching users as DTOs, best matches first
      */
-    public List<UserDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public List<UserDTO> searchUsers(String query, int limit) {
+        List<Long> ids = userSearchIndex.search(query, Math.min(Math.max(limit, 1), MAX_SEARCH_LIMIT));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Keep the index ranking, skipping users deleted since the lookup
+        Map<Long, UserDTO> users = new HashMap<>();
+        userRepository.findDtosByIds(ids).forEach(user -> users.put(user.getId(), user));
+        return ids.stream().map(users::get).filter(Objects::nonNull).toList();
     }
 
     /**
-     * Update user information
+     * Get one keyset page of users as DTOs (without passwords).
+     * Each page continues after the last row of the previous one instead of using OFFSET,
+     * so deep pages cost the same as the first.
+     *
+     * @param sort "id" or "createdAt", optionally followed by ",asc" or ",desc"
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @param size requested page size, capped at MAX_PAGE_SIZE
      */
-    public User updateUser(Long id, User updatedUser) {
-        User existingUser = getUserById(id);
+    public UserPage getUsersPage(String sort, String cursor, int size) {
+        String pageSort = normalizeSort(sort);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        String[] position = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor, pageSort);
+
+        // Fetch one extra row to learn whether another page follows
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<UserDTO> users = switch (pageSort) {
+            case SORT_ID_ASC -> userRepository.findPageByIdAsc(
+                    position == null ? 0 : Long.parseLong(position[2]), limit);
+            case SORT_ID_DESC -> userRepository.findPageByIdDesc(
+                    position == null ? Long.MAX_VALUE : Long.parseLong(position[2]), limit);
+            case SORT_CREATED_AT_ASC -> userRepository.findPageByCreatedAtAsc(
+                    position == null ? FIRST_CREATED_AT : LocalDateTime.parse(position[1]),
+                    position == null ? 0 : Long.parseLong(position[2]), limit);
+            default -> userRepository.findPageByCreatedAtDesc(
+                    position == null ? LAST_CREATED_AT : LocalDateTime.parse(position[1]),
+                    position == null ? Long.MAX_VALUE : Long.parseLong(position[2]), limit);
+        };
+
+        String nextCursor = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            UserDTO last = users.get(pageSize - 1);
+            nextCursor = encodeCursor(pageSort, last.getCreatedAt(), last.getId());
+        }
+
+        return new UserPage(users, nextCursor);
+    }
+
+    /**
+     * Update user information; fields left null keep their value
+     * @param expectedVersion version the client based the update on (from If-Match), or null for any
+     * @throws PreconditionFailedException if the user changed since that version
+     */
+    public User updateUser(Long id, User updatedUser, Long expectedVersion) {
+        User existingUser = loadUser(id, expectedVersion);
 
         // Update username if provided and different
-        if (updatedUser.getUsername() != null && !updatedUser.getUsername().equals(existingUser.getUsername())) {
-            if (userRepository.existsByUsername(updatedUser.getUsername())) {
-                throw new RuntimeException("Username already exists");
-            }
-            existingUser.setUsername(updatedUser.getUsername());
+        if (updatedUser.getUsername() != null) {
+            changeUsername(existingUser, updatedUser.getUsername());
         }
 
         // Update email if provided and different
-        if (updatedUser.getEmail() != null && !updatedUser.getEmail().equals(existingUser.getEmail())) {
-            if (userRepository.existsByEmail(updatedUser.getEmail())) {
-                throw new RuntimeException("Email already exists");
-            }
-            existingUser.setEmail(updatedUser.getEmail());
+        if (updatedUser.getEmail() != null) {
+            changeEmail(existingUser, updatedUser.getEmail());
         }
 
         // Update password if provided
@@ -152,15 +336,200 @@ public class UserService implements UserDetailsService {
             existingUser.setDateOfBirth(updatedUser.getDateOfBirth());
         }
 
-        return userRepository.save(existingUser);
+        return saveUpdate(existingUser);
     }
 
     /**
-     * Delete user by ID
+     * Apply a JSON Merge Patch (RFC 7396) to a user. Only the fields in the patch change and only
+     * their columns are written; null removes phoneNumber or dateOfBirth.
+     * @param expectedVersion version the client based the patch on (from If-Match), or null for any
+     * @throws PreconditionFailedException if the user changed since that version
      */
+    public User patchUser(Long id, Map<String, Object> patch, Long expectedVersion) {
+        User existingUser = loadUser(id, expectedVersion);
+
+        for (Map.Entry<String, Object> field : patch.entrySet()) {
+            String name = field.getKey();
+            if (!PATCHABLE_FIELDS.contains(name)) {
+                throw new RuntimeException("Field cannot be changed: " + name);
+            }
+            if (field.getValue() != null && !(field.getValue() instanceof String)) {
+                throw new RuntimeException(name + " must be a string");
+            }
+            String value = (String) field.getValue();
+            if (value == null && !NULLABLE_FIELDS.contains(name)) {
+                throw new RuntimeException(name + " cannot be removed");
+            }
+            validateField(name, value);
+
+            switch (name) {
+                case "username" -> changeUsername(existingUser, value);
+                case "email" -> changeEmail(existingUser, value);
+                case "password" -> existingUser.setPassword(passwordEncoder.encode(value));
+                case "phoneNumber" -> existingUser.setPhoneNumber(value);
+                default -> existingUser.setDateOfBirth(value);
+            }
+        }
+
+        return saveUpdate(existingUser);
+    }
+
+    private void changeUsername(User user, String username) {
+        if (!username.equals(user.getUsername())) {
+            if (userRepository.existsByUsername(username)) {
+                throw new RuntimeException("Username already exists");
+            }
+            user.setUsername(username);
+        }
+    }
+
+    private void changeEmail(User user, String email) {
+        if (!email.equals(user.getEmail())) {
+            if (userRepository.existsByEmail(email)) {
+                throw new RuntimeException("Email already exists");
+            }
+            user.setEmail(email);
+        }
+    }
+
+    /**
+     * Check a patched value against the constraints declared on the User entity
+     */
+    private void validateField(String name, String value) {
+        Set<ConstraintViolation<User>> violations = validator.validateValue(User.class, name, value);
+        if (!violations.isEmpty()) {
+            throw new RuntimeException(violations.iterator().next().getMessage());
+        }
+    }
+
+    /**
+     * Flush an update of a loaded user. The UPDATE is conditional on the loaded version, so an
+     * update committed in between fails instead of being overwritten.
+     */
+    private User saveUpdate(User user) {
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw translateViolation(e);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new PreconditionFailedException();
+        }
+        userSearchIndex.put(savedUser.getId(), savedUser.getUsername(), savedUser.getEmail(), savedUser.getVersion());
+        return savedUser;
+    }
+
+    /**
+     * Revoke all tokens issued to a user by bumping their token version
+     */
+    public User revokeTokens(Long id) {
+        if (userRepository.incrementTokenVersion(id) == 0) {
+            throw new RuntimeException("User not found with id: " + id);
+        }
+        User user = loadUser(id);
+        refreshTokenService.revokeAllForUser(id);
+        tokenRevocationList.revokeUser(id, user.getTokenVersion());
+        return user;
+    }
+
+    /**
+     * Delete user by ID and revoke any tokens still held for that user.
+     * Load and delete run in one read-write transaction, so both see the primary, and the
+     * deletion is recorded for the search indexes of other nodes in the same transaction.
+     */
+    @Transactional
     public void deleteUser(Long id) {
-        User user = getUserById(id);
+        User user = loadUser(id);
+        refreshTokenService.revokeAllForUser(id);
+        userDeletionRepository.recordDeletions(List.of(id));
         userRepository.delete(user);
+        userSearchIndex.remove(id);
+        tokenRevocationList.revokeUser(id, Integer.MAX_VALUE);
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(constraintName);
+    }
+
+    /**
+     * Map a unique constraint violation back to the field it guards
+     */
+    static RuntimeException translateViolation(DataIntegrityViolationException e) {
+        // The natural-id key Hibernate generates for username replaces the named one in generated
+        // schemas, so match it by column as well (H2 "USERS(USERNAME", PostgreSQL "Key (username)=")
+        if (violates(e, User.UK_USERNAME) || violates(e, "users(username") || violates(e, "key (username)=")) {
+            return new RuntimeException("Username already exists");
+        }
+        if (violates(e, User.UK_EMAIL)) {
+            return new RuntimeException("Email already exists");
+        }
+        return e;
+    }
+
+    /**
+     * Load the managed entity for write paths
+     */
+    /**
+     * Load a user for a write from the primary, past the second-level cache, so the version that
+     * If-Match and the conditional UPDATE compare against is the current one. Updates keep the load
+     * and the flush in separate transactions so no connection is held while a password is hashed.
+     */
+    private User loadUser(Long id) {
+        return userRepository.findUncachedById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+    }
+
+    /**
+     * Load the managed entity for an update based on the given version (null for any)
+     */
+    private User loadUser(Long id, Long expectedVersion) {
+        User user = loadUser(id);
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new PreconditionFailedException();
+        }
+        return user;
+    }
+
+    private static String normalizeSort(String sort) {
+        String normalized = sort == null || sort.isBlank() ? SORT_ID_ASC : sort.replace(" ", "");
+        if (normalized.endsWith(",asc")) {
+            normalized = normalized.substring(0, normalized.length() - 4);
+        }
+        if (!normalized.equals(SORT_ID_ASC) && !normalized.equals(SORT_ID_DESC)
+                && !normalized.equals(SORT_CREATED_AT_ASC) && !normalized.equals(SORT_CREATED_AT_DESC)) {
+            throw new RuntimeException("Invalid sort: " + sort);
+        }
+        return normalized;
+    }
+
+    // Cursor: base64url("sort|createdAt|id") of the last row on the page
+    private static String encodeCursor(String sort, LocalDateTime createdAt, Long id) {
+        String position = sort + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor, String sort) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 3 || !position[0].equals(sort)) {
+                throw new IllegalArgumentException("Cursor does not match sort");
+            }
+            LocalDateTime.parse(position[1]);
+            Long.parseLong(position[2]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Record a stage in its timer and in the request's Server-Timing header, when enabled
+     */
+    private void recordTime(String name, String outcome, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        Timer.builder(name).tag("outcome", outcome).register(meterRegistry).record(nanos, TimeUnit.NANOSECONDS);
+        RequestTimings.record(name, nanos);
     }
 
     /**
@@ -174,7 +543,8 @@ public class UserService implements UserDetailsService {
                 user.getRole(),
                 user.getPhoneNumber(),
                 user.getDateOfBirth(),
-                user.getCreatedAt()
+                user.getCreatedAt(),
+                user.getVersion()
         );
     }
 }
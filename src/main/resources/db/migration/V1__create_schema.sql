@@ -0,0 +1,47 @@
+-- Initial schema, matching the JPA mappings (validated with ddl-auto=validate in the prod profile).
+-- Indexes follow the queries in UserRepository and RefreshTokenRepository.
+
+-- User ids are allocated 50 at a time (pooled optimizer, see User)
+create sequence users_seq start with 1 increment by 50;
+
+create table users (
+    id              bigint       not null,
+    username        varchar(255) not null,
+    email           varchar(255) not null,
+    password        varchar(255) not null,
+    role            varchar(255) not null,
+    phone_number    varchar(255),
+    date_of_birth   varchar(255),
+    created_at      timestamp(6) not null,
+    version         bigint       not null,
+    token_version   integer      not null,
+    admin_bootstrap boolean,
+    constraint pk_users primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email),
+    -- TRUE on exactly one row at most: the user that bootstrapped the first ADMIN
+    constraint uk_users_admin_bootstrap unique (admin_bootstrap)
+);
+
+-- Keyset pagination by creation time
+create index idx_users_created_at_id on users (created_at, id);
+
+-- Bulk delete and role update filtered by role, walked in id order
+create index idx_users_role_id on users (role, id);
+
+create table refresh_tokens (
+    id          bigint generated by default as identity,
+    token_hash  varchar(64) not null,
+    user_id     bigint      not null,
+    family_id   varchar(36) not null,
+    expires_at  timestamp(6) not null,
+    used        boolean     not null,
+    revoked     boolean     not null,
+    constraint pk_refresh_tokens primary key (id),
+    constraint uk_refresh_tokens_token_hash unique (token_hash)
+);
+
+-- Logout and bulk delete by user, reuse detection by family, purge of expired tokens
+create index idx_refresh_tokens_user_id on refresh_tokens (user_id);
+create index idx_refresh_tokens_family_id on refresh_tokens (family_id);
+create index idx_refresh_tokens_expires_at on refresh_tokens (expires_at);
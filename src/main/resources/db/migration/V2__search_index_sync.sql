@@ -0,0 +1,17 @@
+-- Incremental search index refresh: each node reads the users changed and the users deleted since
+-- its last refresh instead of the whole table (see UserSearchIndex).
+
+alter table users add column updated_at timestamp(6);
+update users set updated_at = created_at;
+alter table users alter column updated_at set not null;
+
+create index idx_users_updated_at on users (updated_at);
+
+-- One row per deleted user, purged after user.search.deletion-retention-ms
+create table user_deletions (
+    user_id     bigint       not null,
+    deleted_at  timestamp(6) not null,
+    constraint pk_user_deletions primary key (user_id)
+);
+
+create index idx_user_deletions_deleted_at on user_deletions (deleted_at);
@@ -0,0 +1,124 @@
+package com.usermanagement.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for AccessLog
+ * Tests the record format, dropping when the ring buffer is full and rolling of the file
+ */
+@DisplayName("AccessLog Unit Tests")
+class AccessLogTest {
+
+    private static final long TIMESTAMP = 1_790_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should write one JSON line per request with user, trace id and stages")
+    void testAppend_WritesRecord() throws Exception {
+        // Arrange
+        Path file = directory.resolve("logs/access.log");
+        AccessLog accessLog = new AccessLog(file, 16, 8, 10, 1024 * 1024, 1, meterRegistry);
+        accessLog.start();
+
+        RequestTimings timings = RequestTimings.start("trace-0001");
+        RequestTimings.record(RequestTimings.DB, 1_500_000);
+        RequestTimings.record(RequestTimings.DB, 250_000);
+        RequestTimings.authenticated(7L);
+        RequestTimings.clear();
+
+        // Act
+        boolean accepted = accessLog.append(TIMESTAMP, "GET", "/api/users/\"me\"", 200,
+                timings.getUserId(), timings.getTraceId(), 12_345_678, timings);
+        accessLog.append(TIMESTAMP, "POST", "/api/auth/login", 401, null, null, 5_000, null);
+        accessLog.close();
+
+        // Assert
+        assertTrue(accepted);
+        assertEquals(List.of(
+                "{\"time\":\"2026-09-21T14:13:20Z\",\"method\":\"GET\",\"path\":\"/api/users/\\\"me\\\"\",\"status\":200,"
+                        + "\"userId\":7,\"traceId\":\"trace-0001\",\"durationMs\":12.345,"
+                        + "\"stages\":{\"db\":{\"ms\":1.750,\"calls\":2}}}",
+                "{\"time\":\"2026-09-21T14:13:20Z\",\"method\":\"POST\",\"path\":\"/api/auth/login\",\"status\":401,"
+                        + "\"durationMs\":0.005}"),
+                Files.readAllLines(file));
+        assertEquals(0, accessLog.getDropped());
+    }
+
+    @Test
+    @DisplayName("Should drop and count records instead of blocking when the buffer is full")
+    void testAppend_BufferFull() throws Exception {
+        // Arrange: writer not started, so nothing drains the four slots
+        Path file = directory.resolve("access.log");
+        AccessLog accessLog = new AccessLog(file, 4, 8, 10, 1024 * 1024, 1, meterRegistry);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(accessLog.append(TIMESTAMP, "GET", "/api/users/" + i, 200, null, null, 1_000, null));
+        }
+
+        // Act
+        boolean accepted = accessLog.append(TIMESTAMP, "GET", "/api/users/4", 200, null, null, 1_000, null);
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(1, accessLog.getDropped());
+        assertEquals(1.0, meterRegistry.get("access.log.dropped").functionCounter().count());
+        assertEquals(4.0, meterRegistry.get("access.log.pending").gauge().value());
+
+        accessLog.close();
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(5, lines.size());
+        assertTrue(lines.get(3).contains("\"path\":\"/api/users/3\""));
+        assertTrue(lines.get(4).endsWith("\"dropped\":1}"), lines.get(4));
+        assertEquals(0.0, meterRegistry.get("access.log.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should roll the file at the size limit and keep max-history old files")
+    void testRoll() throws Exception {
+        // Arrange: one record per batch, rolling after every second record
+        Path file = directory.resolve("access.log");
+        AccessLog accessLog = new AccessLog(file, 32, 1, 10, 150, 2, meterRegistry);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            accessLog.append(TIMESTAMP, "GET", "/api/users/" + i, 200, null, null, 1_000, null);
+        }
+        accessLog.close();
+
+        // Assert
+        assertTrue(Files.exists(directory.resolve("access.log.1")));
+        assertTrue(Files.exists(directory.resolve("access.log.2")));
+        assertFalse(Files.exists(directory.resolve("access.log.3")));
+        assertTrue(Files.readString(directory.resolve("access.log.1")).contains("\"path\":\"/api/users/9\""));
+        assertTrue(Files.readString(directory.resolve("access.log.2")).contains("\"path\":\"/api/users/7\""));
+    }
+
+    @Test
+    @DisplayName("Should format durations as milliseconds with microsecond precision")
+    void testAppendMillis() {
+        // Arrange
+        StringBuilder line = new StringBuilder();
+
+        // Act
+        AccessLog.appendMillis(line, 1_234_567);
+        line.append(' ');
+        AccessLog.appendMillis(line, 5_000);
+        line.append(' ');
+        AccessLog.appendMillis(line, 2_000_040_000L);
+
+        // Assert
+        assertEquals("1.234 0.005 2000.040", line.toString());
+    }
+}
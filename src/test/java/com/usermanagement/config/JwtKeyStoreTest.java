@@ -0,0 +1,142 @@
+package com.usermanagement.config;
+
+import com.usermanagement.entity.User;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for JwtKeyStore
+ * Tests keystore-backed ES256 signing, key ids, rotation, unknown key id reloads and the JWK Set
+ */
+@DisplayName("JwtKeyStore Unit Tests")
+class JwtKeyStoreTest {
+
+    private static final String PASSWORD = "changeit";
+
+    @TempDir
+    Path tempDir;
+
+    private Path keystore;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        keystore = tempDir.resolve("jwt-keys.p12");
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+        testUser.setRole("USER");
+    }
+
+    @Test
+    @DisplayName("Should accept tokens signed by another node sharing the keystore")
+    void testTokensAcceptedAcrossNodes() throws Exception {
+        // Arrange
+        generateKey("key-a");
+        JwtUtil nodeA = new JwtUtil(new JwtKeyStore(keystore.toString(), PASSWORD, "", 10000), 100, 900000);
+        JwtUtil nodeB = new JwtUtil(new JwtKeyStore(keystore.toString(), PASSWORD, "", 10000), 100, 900000);
+
+        // Act
+        String token = nodeA.generateToken(testUser);
+
+        // Assert
+        assertEquals("testuser", nodeB.verify(token).getSubject());
+        assertTrue(header(token).contains("\"kid\":\"key-a\""));
+        assertTrue(header(token).contains("\"alg\":\"ES256\""));
+    }
+
+    @Test
+    @DisplayName("Should keep verifying old tokens after rotating to a new key")
+    void testRotation() throws Exception {
+        // Arrange
+        generateKey("key-a");
+        JwtKeyStore keyStore = new JwtKeyStore(keystore.toString(), PASSWORD, "", 10000);
+        JwtUtil jwtUtil = new JwtUtil(keyStore, 100, 900000);
+        String oldToken = jwtUtil.generateToken(testUser);
+
+        // Act
+        generateKey("key-b");
+        Files.setLastModifiedTime(keystore, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+        keyStore.reloadIfChanged();
+        String newToken = jwtUtil.generateToken(testUser);
+
+        // Assert
+        assertEquals("key-b", keyStore.getActiveKeyId());
+        assertTrue(header(newToken).contains("\"kid\":\"key-b\""));
+        assertEquals("testuser", new JwtUtil(keyStore, 100, 900000).verify(oldToken).getSubject());
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> jwks = (List<Map<String, Object>>) keyStore.toJwkSet().get("keys");
+        assertEquals(2, jwks.size());
+        assertEquals("EC", jwks.get(0).get("kty"));
+        assertEquals(43, ((String) jwks.get(0).get("x")).length());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with a key outside the keystore")
+    void testUnknownKeyRejected() throws Exception {
+        // Arrange
+        generateKey("key-a");
+        JwtUtil jwtUtil = new JwtUtil(new JwtKeyStore(keystore.toString(), PASSWORD, "", 10000), 100, 900000);
+        String foreign = new JwtUtil(new JwtKeyStore("", "", "", 10000), 100, 900000).generateToken(testUser);
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> jwtUtil.verify(foreign));
+    }
+
+    @Test
+    @DisplayName("Should check the keystore for unknown key ids at most once per interval")
+    void testUnknownKeyReloadRateLimited() throws Exception {
+        // Arrange
+        generateKey("key-a");
+        AtomicLong now = new AtomicLong(1_000_000);
+        JwtKeyStore keyStore = new JwtKeyStore(keystore.toString(), PASSWORD, "", 10000, now::get);
+        assertNull(keyStore.getVerificationKey("key-unknown"));
+
+        generateKey("key-b");
+        Files.setLastModifiedTime(keystore, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+
+        // Act
+        now.addAndGet(5000);
+        PublicKey withinInterval = keyStore.getVerificationKey("key-b");
+        now.addAndGet(5000);
+        PublicKey afterInterval = keyStore.getVerificationKey("key-b");
+
+        // Assert
+        assertNull(withinInterval);
+        assertNotNull(afterInterval);
+        assertEquals("key-b", keyStore.getActiveKeyId());
+    }
+
+    private void generateKey(String alias) throws IOException, InterruptedException {
+        String keytool = Path.of(System.getProperty("java.home"), "bin", "keytool").toString();
+        Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", alias,
+                "-keyalg", "EC", "-groupname", "secp256r1", "-sigalg", "SHA256withECDSA",
+                "-dname", "CN=user-management-jwt", "-validity", "1",
+                "-storetype", "PKCS12", "-keystore", keystore.toString(),
+                "-storepass", PASSWORD, "-keypass", PASSWORD)
+                .redirectErrorStream(true)
+                .start();
+        assertEquals(0, process.waitFor(), new String(process.getInputStream().readAllBytes()));
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+    }
+}
@@ -0,0 +1,93 @@
+package com.usermanagement.config;
+
+import com.usermanagement.entity.User;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for JwtUtil
+ * Tests token generation, single-parse verification and the verified-token cache
+ */
+@DisplayName("JwtUtil Unit Tests")
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(new JwtKeyStore("", "", "", 10000), 100, 900000);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+        testUser.setRole("USER");
+        testUser.setTokenVersion(3);
+    }
+
+    @Test
+    @DisplayName("Should verify generated token and expose subject and expiry")
+    void testVerify_Success() {
+        // Arrange
+        String token = jwtUtil.generateToken(testUser);
+
+        // Act
+        VerifiedToken verified = jwtUtil.verify(token);
+
+        // Assert
+        assertEquals("testuser", verified.getSubject());
+        assertFalse(verified.isExpired());
+        assertEquals("testuser", verified.getClaims().get("sub"));
+    }
+
+    @Test
+    @DisplayName("Should return the cached verified token for repeated calls")
+    void testVerify_CachedInstance() {
+        // Arrange
+        String token = jwtUtil.generateToken(testUser);
+
+        // Act
+        VerifiedToken first = jwtUtil.verify(token);
+        VerifiedToken second = jwtUtil.verify(token);
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(jwtUtil.validateToken(token, "testuser"));
+        assertFalse(jwtUtil.validateToken(token, "otheruser"));
+    }
+
+    @Test
+    @DisplayName("Should reject tampered and foreign tokens")
+    void testVerify_TamperedToken() {
+        // Arrange
+        String token = jwtUtil.generateToken(testUser);
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+        String foreign = new JwtUtil(new JwtKeyStore("", "", "", 10000), 100, 900000).generateToken(testUser);
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+        assertThrows(JwtException.class, () -> jwtUtil.verify(foreign));
+        assertFalse(jwtUtil.validateToken(foreign));
+    }
+
+    @Test
+    @DisplayName("Should build principal from embedded user claims")
+    void testAuthenticatedUser_FromClaims() {
+        // Arrange
+        String token = jwtUtil.generateToken(testUser);
+
+        // Act
+        AuthenticatedUser principal = AuthenticatedUser.fromToken(jwtUtil.verify(token));
+
+        // Assert
+        assertEquals(1L, principal.getId());
+        assertEquals("testuser", principal.getName());
+        assertEquals("USER", principal.getRole());
+        assertEquals(3, principal.getTokenVersion());
+        assertFalse(principal.isAdmin());
+    }
+}
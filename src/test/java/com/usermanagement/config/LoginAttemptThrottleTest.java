@@ -0,0 +1,84 @@
+package com.usermanagement.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for LoginAttemptThrottle
+ * Tests per-username and per-IP limits, progressive lockout and score decay
+ */
+@DisplayName("LoginAttemptThrottle Unit Tests")
+class LoginAttemptThrottleTest {
+
+    private static final long HALF_LIFE = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private LoginAttemptThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new LoginAttemptThrottle(1000, 3, 10, HALF_LIFE, 1000, 60_000,
+                new SimpleMeterRegistry(), now::get);
+    }
+
+    @Test
+    @DisplayName("Should lock out a username after the limit with doubling lockouts")
+    void testRecordFailure_ProgressiveLockout() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("testuser", "10.0.0.1");
+        }
+        assertEquals(0, throttle.retryAfterMillis("testuser", "10.0.0.1"));
+
+        // Act
+        throttle.recordFailure("testuser", "10.0.0.1");
+        long firstLockout = throttle.retryAfterMillis("TestUser", "10.0.0.2");
+        now.addAndGet(firstLockout);
+        throttle.recordFailure("testuser", "10.0.0.1");
+        long secondLockout = throttle.retryAfterMillis("testuser", "10.0.0.2");
+
+        // Assert
+        assertTrue(firstLockout > 0 && firstLockout <= 1000);
+        assertTrue(secondLockout > firstLockout);
+        assertEquals(0, throttle.retryAfterMillis("otheruser", "10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("Should lock out a client IP spraying many usernames")
+    void testRecordFailure_IpLimit() {
+        // Act
+        for (int i = 0; i < 11; i++) {
+            throttle.recordFailure("user" + i, "10.0.0.1");
+        }
+
+        // Assert
+        assertTrue(throttle.retryAfterMillis("fresh-user", "10.0.0.1") > 0);
+        assertEquals(0, throttle.retryAfterMillis("fresh-user", "10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("Should forget failures after success or once they have decayed")
+    void testRecordSuccessAndDecay() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("testuser", "10.0.0.1");
+            throttle.recordFailure("otheruser", "10.0.0.1");
+        }
+
+        // Act
+        throttle.recordSuccess("testuser");
+        throttle.recordFailure("testuser", "10.0.0.3");
+        now.addAndGet(HALF_LIFE * 3);
+        throttle.recordFailure("otheruser", "10.0.0.3");
+
+        // Assert
+        assertEquals(0, throttle.retryAfterMillis("testuser", "10.0.0.3"));
+        assertEquals(0, throttle.retryAfterMillis("otheruser", "10.0.0.3"));
+    }
+}
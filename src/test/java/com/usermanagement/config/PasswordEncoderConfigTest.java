@@ -0,0 +1,54 @@
+package com.usermanagement.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for PasswordEncoderConfig
+ * Tests the prefixed hash format, legacy hash upgrades and BCrypt cost calibration
+ */
+@DisplayName("PasswordEncoderConfig Unit Tests")
+class PasswordEncoderConfigTest {
+
+    @Test
+    @DisplayName("Should store hashes with the bcrypt prefix and configured cost")
+    void testDelegatingEncoder_PrefixedHash() {
+        // Arrange
+        PasswordEncoder encoder = PasswordEncoderConfig.delegatingEncoder(5);
+
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertTrue(hash.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    @DisplayName("Should verify legacy and weaker hashes and flag them for upgrade")
+    void testDelegatingEncoder_UpgradeEncoding() {
+        // Arrange
+        PasswordEncoder encoder = PasswordEncoderConfig.delegatingEncoder(5);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+        String weakerHash = "{bcrypt}" + legacyHash;
+
+        // Act & Assert
+        assertTrue(encoder.matches("password123", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+        assertTrue(encoder.matches("password123", weakerHash));
+        assertTrue(encoder.upgradeEncoding(weakerHash));
+    }
+
+    @Test
+    @DisplayName("Should keep calibrated strength within the configured bounds")
+    void testCalibrateBCryptStrength_Bounds() {
+        // Act & Assert
+        assertEquals(4, PasswordEncoderConfig.calibrateBCryptStrength(0, 4, 6));
+        assertEquals(6, PasswordEncoderConfig.calibrateBCryptStrength(60_000, 4, 6));
+    }
+}
@@ -0,0 +1,50 @@
+package com.usermanagement.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for ReadReplicaConfig
+ * Tests validation of the replica URLs against the primary
+ */
+@DisplayName("ReadReplicaConfig Unit Tests")
+class ReadReplicaConfigTest {
+
+    private static final String PRIMARY = "jdbc:postgresql://db-primary:5432/usermanagement";
+
+    @Test
+    @DisplayName("Should accept the in-memory stand-in replica for an in-memory H2 primary")
+    void testValidReplicaUrls_InMemoryPrimary() {
+        // Act & Assert
+        assertEquals(List.of("jdbc:h2:mem:usermanagementdb"), ReadReplicaConfig.validReplicaUrls(
+                "jdbc:h2:mem:usermanagementdb", List.of(" jdbc:h2:mem:usermanagementdb ", "")));
+        assertEquals(List.of(), ReadReplicaConfig.validReplicaUrls("jdbc:h2:mem:usermanagementdb", List.of()));
+    }
+
+    @Test
+    @DisplayName("Should accept real replica URLs for a real primary")
+    void testValidReplicaUrls_RealReplicas() {
+        // Act
+        List<String> urls = ReadReplicaConfig.validReplicaUrls(PRIMARY,
+                List.of("jdbc:postgresql://db-replica-1:5432/usermanagement", " jdbc:postgresql://db-replica-2:5432/usermanagement"));
+
+        // Assert
+        assertEquals(List.of("jdbc:postgresql://db-replica-1:5432/usermanagement",
+                "jdbc:postgresql://db-replica-2:5432/usermanagement"), urls);
+    }
+
+    @Test
+    @DisplayName("Should fail fast when a real primary has no replicas or the in-memory stand-in")
+    void testValidReplicaUrls_Misconfigured() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> ReadReplicaConfig.validReplicaUrls(PRIMARY, List.of()));
+        assertThrows(IllegalStateException.class, () -> ReadReplicaConfig.validReplicaUrls(PRIMARY, List.of(" ")));
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> ReadReplicaConfig.validReplicaUrls(PRIMARY, List.of("jdbc:h2:mem:usermanagementdb")));
+        assertTrue(e.getMessage().contains("DB_REPLICA_URLS"));
+    }
+}
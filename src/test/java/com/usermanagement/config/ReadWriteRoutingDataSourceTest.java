@@ -0,0 +1,101 @@
+package com.usermanagement.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for ReadWriteRoutingDataSource
+ * Routes against two separate in-memory H2 databases standing in for the primary and a replica,
+ * each of which answers with its own name
+ */
+@DisplayName("ReadWriteRoutingDataSource Unit Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    private static final long WINDOW = 5000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(node("primary"), List.of(node("replica")),
+                new ReadYourWritesWindow(WINDOW, 100, now::get));
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to the replica and others to the primary")
+    void testRouting_ByTransactionType() {
+        // Act & Assert
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentNode()));
+        assertEquals("primary", writeTransaction.execute(status -> currentNode()));
+        assertEquals("primary", currentNode());
+    }
+
+    @Test
+    @DisplayName("Should keep a user's reads on the primary for the window after their own write")
+    void testRouting_ReadYourWrites() {
+        // Arrange
+        authenticate(1L);
+        writeTransaction.execute(status -> currentNode());
+
+        // Act & Assert
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentNode()));
+
+        authenticate(2L);
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentNode()));
+
+        authenticate(1L);
+        now.addAndGet(WINDOW);
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentNode()));
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static void authenticate(Long userId) {
+        AuthenticatedUser principal = new AuthenticatedUser(userId, "user" + userId, "USER", 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table node (name varchar(20))");
+        jdbc.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,75 @@
+package com.usermanagement.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for TokenRevocationList
+ * Tests token and user revocation and pruning of expired entries
+ */
+@DisplayName("TokenRevocationList Unit Tests")
+class TokenRevocationListTest {
+
+    private TokenRevocationList revocationList;
+    private AuthenticatedUser principal;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(new JwtUtil(new JwtKeyStore("", "", "", 10000), 100, 900000), 4096);
+        principal = new AuthenticatedUser(1L, "testuser", "USER", 0);
+    }
+
+    @Test
+    @DisplayName("Should reject only the revoked token")
+    void testRevokeToken() {
+        // Arrange
+        VerifiedToken revoked = token("revoked-id", 60000);
+        VerifiedToken other = token("other-id", 60000);
+
+        // Act
+        revocationList.revokeToken(revoked);
+
+        // Assert
+        assertTrue(revocationList.isRevoked(revoked, principal));
+        assertFalse(revocationList.isRevoked(other, principal));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens below the user's minimum version")
+    void testRevokeUser() {
+        // Act
+        revocationList.revokeUser(1L, 1);
+
+        // Assert
+        assertTrue(revocationList.isRevoked(token("a", 60000), principal));
+        assertFalse(revocationList.isRevoked(token("b", 60000), new AuthenticatedUser(1L, "testuser", "USER", 1)));
+        assertFalse(revocationList.isRevoked(token("c", 60000), new AuthenticatedUser(2L, "other", "USER", 0)));
+    }
+
+    @Test
+    @DisplayName("Should drop revoked tokens once they expire")
+    void testPrune() throws InterruptedException {
+        // Arrange
+        revocationList.revokeToken(token("short-lived", 20));
+        revocationList.revokeToken(token("long-lived", 60000));
+        assertEquals(2, revocationList.size());
+
+        // Act
+        Thread.sleep(50);
+        revocationList.prune();
+
+        // Assert
+        assertEquals(1, revocationList.size());
+        assertTrue(revocationList.isRevoked(token("long-lived", 60000), principal));
+    }
+
+    private static VerifiedToken token(String id, long ttlMillis) {
+        return new VerifiedToken(id, "testuser", new Date(System.currentTimeMillis() + ttlMillis), Map.of());
+    }
+}
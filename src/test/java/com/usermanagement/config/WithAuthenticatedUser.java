@@ -0,0 +1,26 @@
+package com.usermanagement.config;
+
+import org.springframework.security.test.context.support.WithSecurityContext;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Test annotation that runs a test as an {@link AuthenticatedUser} principal,
+ * the same principal JwtAuthenticationFilter builds from token claims
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@WithSecurityContext(factory = WithAuthenticatedUserSecurityContextFactory.class)
+public @interface WithAuthenticatedUser {
+
+    long id() default 1L;
+
+    String username() default "testuser";
+
+    String role() default "USER";
+
+    int tokenVersion() default 0;
+}
@@ -0,0 +1,22 @@
+package com.usermanagement.config;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithSecurityContextFactory;
+
+/**
+ * Builds the security context for {@link WithAuthenticatedUser}
+ */
+public class WithAuthenticatedUserSecurityContextFactory implements WithSecurityContextFactory<WithAuthenticatedUser> {
+
+    @Override
+    public SecurityContext createSecurityContext(WithAuthenticatedUser annotation) {
+        AuthenticatedUser principal = new AuthenticatedUser(
+                annotation.id(), annotation.username(), annotation.role(), annotation.tokenVersion());
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        return context;
+    }
+}
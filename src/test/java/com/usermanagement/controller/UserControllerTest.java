@@ -1,10 +1,24 @@
 package com.usermanagement.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.config.AuthMetrics;
 import com.usermanagement.config.JwtUtil;
+import com.usermanagement.config.LoginAttemptThrottle;
+import com.usermanagement.config.TokenRevocationList;
+import com.usermanagement.config.VerifiedToken;
+import com.usermanagement.config.WithAuthenticatedUser;
+import com.usermanagement.dto.BulkUserRequest;
 import com.usermanagement.dto.LoginRequest;
+import com.usermanagement.dto.RefreshRequest;
 import com.usermanagement.dto.UserDTO;
+import com.usermanagement.dto.UserPage;
 import com.usermanagement.entity.User;
+import com.usermanagement.exception.HashingCapacityExceededException;
+import com.usermanagement.exception.PreconditionFailedException;
+import com.usermanagement.service.RefreshTokenService;
+import com.usermanagement.service.UserBulkService;
+import com.usermanagement.service.UserExportService;
+import com.usermanagement.service.UserImportService;
 import com.usermanagement.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,14 +30,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
-import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -50,6 +68,27 @@ class UserControllerTest {
     @MockBean
     private JwtUtil jwtUtil;
 
+    @MockBean
+    private TokenRevocationList tokenRevocationList;
+
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockBean
+    private LoginAttemptThrottle loginAttemptThrottle;
+
+    @MockBean
+    private AuthMetrics authMetrics;
+
+    @MockBean
+    private UserExportService userExportService;
+
+    @MockBean
+    private UserImportService userImportService;
+
+    @MockBean
+    private UserBulkService userBulkService;
+
     @MockBean
     private com.usermanagement.config.SecurityConfig securityConfig;
 
@@ -68,7 +107,7 @@ class UserControllerTest {
         testUser.setPassword("password123");
         testUser.setRole("USER");
 
-        testUserDTO = new UserDTO(1L, "testuser", "test@example.com", "USER", null, null, null);
+        testUserDTO = new UserDTO(1L, "testuser", "test@example.com", "USER", null, null, null, 0L);
     }
 
     @Test
@@ -115,7 +154,8 @@ class UserControllerTest {
         loginRequest.setPassword("password123");
 
         when(userService.authenticateUser(anyString(), anyString())).thenReturn(testUser);
-        when(jwtUtil.generateToken(anyString())).thenReturn("mock-jwt-token");
+        when(jwtUtil.generateToken(any(User.class))).thenReturn("mock-jwt-token");
+        when(refreshTokenService.issue(any(User.class))).thenReturn("mock-refresh-token");
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/login")
@@ -123,12 +163,13 @@ class UserControllerTest {
                 .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("mock-jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("mock-refresh-token"))
                 .andExpect(jsonPath("$.username").value("testuser"))
                 .andExpect(jsonPath("$.email").value("test@example.com"))
                 .andExpect(jsonPath("$.role").value("USER"));
 
         verify(userService).authenticateUser("testuser", "password123");
-        verify(jwtUtil).generateToken("testuser");
+        verify(jwtUtil).generateToken(testUser);
     }
 
     @Test
@@ -148,34 +189,239 @@ class UserControllerTest {
                 .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath("$.error").value("Invalid username or password"));
+
+        verify(loginAttemptThrottle).recordFailure(eq("testuser"), anyString());
+        verify(authMetrics).recordFailure(AuthMetrics.Reason.BAD_CREDENTIALS);
+    }
+
+    @Test
+    @DisplayName("Should reject throttled login with 429 before checking the password")
+    void testLogin_Throttled() throws Exception {
+        // Arrange
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("testuser");
+        loginRequest.setPassword("password123");
+
+        when(loginAttemptThrottle.retryAfterMillis(eq("testuser"), anyString())).thenReturn(1500L);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").exists());
+
+        verify(userService, never()).authenticateUser(anyString(), anyString());
+        verify(authMetrics).recordFailure(AuthMetrics.Reason.THROTTLED);
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @DisplayName("Should return 503 with Retry-After when password hashing is saturated")
+    void testLogin_HashingCapacityExceeded() throws Exception {
+        // Arrange
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("testuser");
+        loginRequest.setPassword("password123");
+
+        when(userService.authenticateUser(anyString(), anyString()))
+                .thenThrow(new HashingCapacityExceededException(2));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").exists());
+
+        verify(refreshTokenService, never()).issue(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should exchange refresh token for new tokens")
+    void testRefresh_Success() throws Exception {
+        // Arrange
+        when(refreshTokenService.rotate("old-refresh-token"))
+                .thenReturn(new RefreshTokenService.Rotation(testUser, "new-refresh-token"));
+        when(jwtUtil.generateToken(testUser)).thenReturn("new-jwt-token");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest("old-refresh-token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("new-jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("new-refresh-token"))
+                .andExpect(jsonPath("$.username").value("testuser"));
+
+        verify(userService, never()).authenticateUser(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject reused refresh token")
+    void testRefresh_Reuse() throws Exception {
+        // Arrange
+        when(refreshTokenService.rotate("used-refresh-token"))
+                .thenThrow(new RuntimeException("Refresh token reuse detected"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest("used-refresh-token"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Refresh token reuse detected"));
+    }
+
+    @Test
+    @DisplayName("Should revoke token on logout")
+    void testLogout_Success() throws Exception {
+        // Arrange
+        VerifiedToken token = new VerifiedToken("token-id", "testuser", new Date(System.currentTimeMillis() + 60000), Map.of());
+        when(jwtUtil.verify("mock-jwt-token")).thenReturn(token);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/logout")
+                .header("Authorization", "Bearer mock-jwt-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Logged out successfully"));
+
+        verify(tokenRevocationList).revokeToken(token);
+    }
+
+    @Test
+    @DisplayName("Should revoke the refresh token chain on logout on behalf of the token's user")
+    void testLogout_RevokesRefreshTokenOfCaller() throws Exception {
+        // Arrange
+        VerifiedToken token = new VerifiedToken("token-id", "testuser", new Date(System.currentTimeMillis() + 60000),
+                Map.of(JwtUtil.CLAIM_USER_ID, 1L, JwtUtil.CLAIM_ROLE, "USER", JwtUtil.CLAIM_TOKEN_VERSION, 0));
+        when(jwtUtil.verify("mock-jwt-token")).thenReturn(token);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/logout")
+                .header("Authorization", "Bearer mock-jwt-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest("refresh-token"))))
+                .andExpect(status().isOk());
+
+        verify(refreshTokenService).revokeFamily("refresh-token", 1L);
+    }
+
+    @Test
+    @DisplayName("Should reject logout without bearer token")
+    void testLogout_MissingToken() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Missing bearer token"));
+
+        verify(tokenRevocationList, never()).revokeToken(any());
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
     @DisplayName("Should get all users when authenticated")
     void testGetAllUsers_Success() throws Exception {
         // Arrange
-        UserDTO user2DTO = new UserDTO(2L, "user2", "user2@example.com", "USER", null, null, null);
+        UserDTO user2DTO = new UserDTO(2L, "user2", "user2@example.com", "USER", null, null, null, 0L);
         List<UserDTO> users = Arrays.asList(testUserDTO, user2DTO);
 
-        when(userService.getAllUsers()).thenReturn(users);
+        when(userService.getUsersPage("id", null, 50)).thenReturn(new UserPage(users, null));
 
         // Act & Assert
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].username").value("testuser"))
-                .andExpect(jsonPath("$[1].username").value("user2"));
+                .andExpect(jsonPath("$[1].username").value("user2"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(header().doesNotExist("Link"));
+
+        verify(userService).getUsersPage("id", null, 50);
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should return 304 for an unchanged page and a new ETag once a user on it changes")
+    void testGetAllUsers_NotModified() throws Exception {
+        // Arrange
+        when(userService.getUsersPage("id", null, 50)).thenReturn(new UserPage(List.of(testUserDTO), null));
+
+        String etag = mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        testUserDTO.setVersion(1L);
+        mockMvc.perform(get("/api/users").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should return next page cursor in headers")
+    void testGetAllUsers_NextCursor() throws Exception {
+        // Arrange
+        when(userService.getUsersPage("createdAt,desc", null, 1))
+                .thenReturn(new UserPage(List.of(testUserDTO), "next-cursor"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users").param("size", "1").param("sort", "createdAt,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("testuser"))
+                .andExpect(header().string("X-Next-Cursor", "next-cursor"))
+                .andExpect(header().string("Link",
+                        "<http://localhost/api/users?size=1&sort=createdAt,desc&cursor=next-cursor>; rel=\"next\""));
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should reject invalid cursor with 400")
+    void testGetAllUsers_InvalidCursor() throws Exception {
+        // Arrange
+        when(userService.getUsersPage("id", "garbage", 50)).thenThrow(new RuntimeException("Invalid cursor"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should stream export in the requested format")
+    void testExportUsers_Csv() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.csv\""));
 
-        verify(userService).getAllUsers();
+        verify(userExportService).exportUsers(eq("csv"), any());
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should reject unsupported export format")
+    void testExportUsers_UnsupportedFormat() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unsupported export format: xml"));
+
+        verify(userExportService, never()).exportUsers(anyString(), any());
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
     @DisplayName("Should get user by ID successfully")
     void testGetUserById_Success() throws Exception {
         // Arrange
-        when(userService.getUserById(1L)).thenReturn(testUser);
-        when(userService.convertToDTO(any(User.class))).thenReturn(testUserDTO);
+        when(userService.getUserById(1L)).thenReturn(testUserDTO);
 
         // Act & Assert
         mockMvc.perform(get("/api/users/1"))
@@ -187,7 +433,51 @@ class UserControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should return ETag and 304 without body when the user is unchanged")
+    void testGetUserById_NotModified() throws Exception {
+        // Arrange
+        when(userService.getUserById(1L)).thenReturn(testUserDTO);
+        when(userService.getUncachedUserById(1L)).thenReturn(testUserDTO);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-0\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"1-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-0\""))
+                .andExpect(content().string(""));
+
+        testUserDTO.setVersion(1L);
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-1\""))
+                .andExpect(jsonPath("$.username").value("testuser"));
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should revalidate against the primary, not a stale cached version")
+    void testGetUserById_RevalidatesUncached() throws Exception {
+        // Arrange
+        UserDTO current = new UserDTO(1L, "testuser", "changed@example.com", "USER", null, null, null, 1L);
+        when(userService.getUserById(1L)).thenReturn(testUserDTO);
+        when(userService.getUncachedUserById(1L)).thenReturn(current);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-1\""))
+                .andExpect(jsonPath("$.email").value("changed@example.com"));
+
+        verify(userService, never()).getUserById(anyLong());
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
     @DisplayName("Should return 404 when user not found")
     void testGetUserById_NotFound() throws Exception {
         // Arrange
@@ -201,23 +491,23 @@ class UserControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
     @DisplayName("Should get current user successfully")
     void testGetCurrentUser_Success() throws Exception {
         // Arrange
-        when(userService.getUserByUsername("testuser")).thenReturn(testUser);
-        when(userService.convertToDTO(any(User.class))).thenReturn(testUserDTO);
+        when(userService.getUserById(1L)).thenReturn(testUserDTO);
 
         // Act & Assert
         mockMvc.perform(get("/api/users/me"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.username").value("testuser"));
 
-        verify(userService).getUserByUsername("testuser");
+        verify(userService).getUserById(1L);
+        verify(userService, never()).getUserByUsername(anyString());
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
     @DisplayName("Should update user successfully")
     void testUpdateUser_Success() throws Exception {
         // Arrange
@@ -225,8 +515,7 @@ class UserControllerTest {
         updatedUser.setUsername("updateduser");
         updatedUser.setEmail("updated@example.com");
 
-        when(userService.getUserByUsername("testuser")).thenReturn(testUser);
-        when(userService.updateUser(eq(1L), any(User.class))).thenReturn(testUser);
+        when(userService.updateUser(eq(1L), any(User.class), isNull())).thenReturn(testUser);
         when(userService.convertToDTO(any(User.class))).thenReturn(testUserDTO);
 
         // Act & Assert
@@ -236,20 +525,71 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("User updated successfully"));
 
-        verify(userService).updateUser(eq(1L), any(User.class));
+        verify(userService).updateUser(eq(1L), any(User.class), isNull());
     }
 
     @Test
-    @WithMockUser(username = "testuser", roles = "ADMIN")
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should apply merge patch with the If-Match version and return the new ETag")
+    void testPatchUser_IfMatch() throws Exception {
+        // Arrange
+        UserDTO patchedDTO = new UserDTO(1L, "testuser", "test@example.com", "USER", "5550001111", null, null, 4L);
+        when(userService.patchUser(eq(1L), eq(Map.of("phoneNumber", "5550001111")), eq(3L))).thenReturn(testUser);
+        when(userService.convertToDTO(testUser)).thenReturn(patchedDTO);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/users/1")
+                .header("If-Match", "\"1-3\"")
+                .contentType("application/merge-patch+json")
+                .content("{\"phoneNumber\":\"5550001111\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""))
+                .andExpect(jsonPath("$.user.phoneNumber").value("5550001111"));
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should return 412 when If-Match is outdated or not an ETag of the user")
+    void testUpdateUser_PreconditionFailed() throws Exception {
+        // Arrange
+        when(userService.patchUser(eq(1L), any(), eq(2L))).thenThrow(new PreconditionFailedException());
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/users/1")
+                .header("If-Match", "\"1-2\"")
+                .contentType("application/merge-patch+json")
+                .content("{\"phoneNumber\":\"5550001111\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error").value("User has been modified, reload it and retry"));
+
+        mockMvc.perform(put("/api/users/1")
+                .header("If-Match", "\"2-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new User())))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(userService, never()).updateUser(anyLong(), any(User.class), any());
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should not allow regular user to update another user's profile")
+    void testUpdateUser_OtherUser_Forbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(put("/api/users/2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new User())))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("You can only update your own profile"));
+
+        verify(userService, never()).updateUser(anyLong(), any(User.class), any());
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser", role = "ADMIN")
     @DisplayName("Should delete user as admin successfully")
     void testDeleteUser_AsAdmin_Success() throws Exception {
         // Arrange
-        User adminUser = new User();
-        adminUser.setId(1L);
-        adminUser.setUsername("testuser");
-        adminUser.setRole("ADMIN");
-
-        when(userService.getUserByUsername("testuser")).thenReturn(adminUser);
         doNothing().when(userService).deleteUser(2L);
 
         // Act & Assert
@@ -261,12 +601,9 @@ class UserControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
     @DisplayName("Should not allow regular user to delete their own account")
     void testDeleteUser_OwnAccount_Forbidden() throws Exception {
-        // Arrange
-        when(userService.getUserByUsername("testuser")).thenReturn(testUser);
-
         // Act & Assert
         mockMvc.perform(delete("/api/users/1"))
                 .andExpect(status().isForbidden())
@@ -276,12 +613,9 @@ class UserControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "testuser")
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
     @DisplayName("Should not allow regular user to delete other users")
     void testDeleteUser_OtherUser_Forbidden() throws Exception {
-        // Arrange
-        when(userService.getUserByUsername("testuser")).thenReturn(testUser);
-
         // Act & Assert
         mockMvc.perform(delete("/api/users/2"))
                 .andExpect(status().isForbidden())
@@ -291,22 +625,118 @@ class UserControllerTest {
     }
 
     @Test
-    @WithMockUser(username = "testuser", roles = "ADMIN")
+    @WithAuthenticatedUser(id = 1L, username = "testuser", role = "ADMIN")
     @DisplayName("Should not allow admin to delete their own account")
     void testDeleteUser_AdminOwnAccount_Forbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/api/users/1"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("Admin cannot delete their own account"));
+
+        verify(userService, never()).deleteUser(1L);
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser", role = "ADMIN")
+    @DisplayName("Should revoke user tokens as admin")
+    void testRevokeTokens_AsAdmin_Success() throws Exception {
         // Arrange
-        User adminUser = new User();
-        adminUser.setId(1L);
-        adminUser.setUsername("testuser");
-        adminUser.setRole("ADMIN");
+        when(userService.revokeTokens(2L)).thenReturn(testUser);
 
-        when(userService.getUserByUsername("testuser")).thenReturn(adminUser);
+        // Act & Assert
+        mockMvc.perform(post("/api/users/2/revoke-tokens"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Tokens revoked successfully"));
 
+        verify(userService).revokeTokens(2L);
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should not allow regular user to revoke tokens")
+    void testRevokeTokens_AsUser_Forbidden() throws Exception {
         // Act & Assert
-        mockMvc.perform(delete("/api/users/1"))
+        mockMvc.perform(post("/api/users/2/revoke-tokens"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("Only admins can revoke tokens"));
+
+        verify(userService, never()).revokeTokens(anyLong());
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should not allow regular user to import users")
+    void testImportUsers_AsUser_Forbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/users/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("Only admins can import users"));
+
+        verify(userImportService, never()).importUsers(any(), any());
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser", role = "ADMIN")
+    @DisplayName("Should bulk delete users as admin and return the count")
+    void testBulkDeleteUsers_AsAdmin_Success() throws Exception {
+        // Arrange
+        BulkUserRequest request = new BulkUserRequest(List.of(2L, 3L), null, null);
+        when(userBulkService.deleteUsers(any(BulkUserRequest.class), eq(1L))).thenReturn(2L);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/users/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser", role = "ADMIN")
+    @DisplayName("Should not allow admin to bulk delete their own account")
+    void testBulkDeleteUsers_OwnAccount_Forbidden() throws Exception {
+        // Arrange
+        BulkUserRequest request = new BulkUserRequest(List.of(1L, 2L), null, null);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/users/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$.error").value("Admin cannot delete their own account"));
 
-        verify(userService, never()).deleteUser(1L);
+        verify(userBulkService, never()).deleteUsers(any(), any());
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should not allow regular user to change roles in bulk")
+    void testBulkUpdateUsers_AsUser_Forbidden() throws Exception {
+        // Arrange
+        BulkUserRequest request = new BulkUserRequest(List.of(2L), null, "ADMIN");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/users/bulk-update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("Only admins can change roles"));
+
+        verify(userBulkService, never()).updateRole(any(), any());
+    }
+
+    @Test
+    @WithAuthenticatedUser(id = 1L, username = "testuser")
+    @DisplayName("Should search users with the default limit")
+    void testSearchUsers_Success() throws Exception {
+        // Arrange
+        when(userService.searchUsers("test", UserService.DEFAULT_SEARCH_LIMIT)).thenReturn(List.of(testUserDTO));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/search").param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("testuser"));
     }
 }
@@ -0,0 +1,98 @@
+package com.usermanagement.integration;
+
+import com.usermanagement.entity.User;
+import com.usermanagement.repository.UserRepository;
+import com.usermanagement.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency Tests for user registration
+ * Fires concurrent signups with colliding usernames and emails against the real database
+ * and checks that exactly one ADMIN exists and every duplicate is reported by field
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrentregistrationdb",
+        // Cache regions are shared by every test context in the JVM; ids here overlap other databases
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+@DisplayName("Concurrent Registration Integration Tests")
+class ConcurrentRegistrationIntegrationTest {
+
+    private static final int THREADS = 32;
+    private static final int DISTINCT_EMAILS = 8;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @RepeatedTest(2)
+    @DisplayName("Should create exactly one ADMIN and no duplicates under a signup storm")
+    void testConcurrentSignupStorm() throws Exception {
+        // Arrange: half the threads collide on username and email, the other half on email only
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            int slot = i % DISTINCT_EMAILS;
+            String username = i < THREADS / 2 ? "storm" + slot : "other" + i;
+            results.add(executor.submit(() -> {
+                User user = new User();
+                user.setUsername(username);
+                user.setEmail("storm" + slot + "@example.com");
+                user.setPassword("Password@123");
+                start.await();
+                try {
+                    userService.registerUser(user);
+                    return "created";
+                } catch (RuntimeException e) {
+                    return e.getMessage();
+                }
+            }));
+        }
+
+        // Act
+        start.countDown();
+        List<String> outcomes = new ArrayList<>();
+        for (Future<String> result : results) {
+            outcomes.add(result.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Assert
+        List<User> users = userRepository.findAll();
+        // Rows colliding on both fields report whichever unique key the database checks first
+        assertTrue(Set.of("created", "Username already exists", "Email already exists").containsAll(outcomes),
+                "Unexpected outcome: " + outcomes);
+        assertTrue(outcomes.contains("Email already exists"), "Unexpected outcome: " + outcomes);
+        assertEquals(DISTINCT_EMAILS, users.size());
+        assertEquals(users.size(), outcomes.stream().filter("created"::equals).count());
+        assertEquals(1, users.stream().filter(user -> "ADMIN".equals(user.getRole())).count());
+        assertEquals(users.size(), users.stream().map(User::getUsername).collect(Collectors.toSet()).size());
+    }
+}
@@ -0,0 +1,125 @@
+package com.usermanagement.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.dto.LoginRequest;
+import com.usermanagement.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration Tests for the Prometheus scrape endpoint
+ * Drives a login, a rejected login and a rejected token through the application and checks that
+ * the per-stage timers and failure counters show up in the scrape
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metricsdb",
+        // Cache regions are shared by every test context in the JVM; ids here overlap other databases
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+@DisplayName("Metrics Integration Tests")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should expose hot path timers and auth failures to Prometheus")
+    void testPrometheusScrape() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setUsername("metricsuser");
+        user.setEmail("metrics@example.com");
+        user.setPassword("Password@123");
+
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("metricsuser");
+        loginRequest.setPassword("Password@123");
+        String token = objectMapper.readTree(mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+
+        mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        loginRequest.setPassword("WrongPassword@123");
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer not-a-jwt"))
+                .andExpect(status().isUnauthorized());
+
+        // Act: scrape from an allowed address (MockMvc requests come from 127.0.0.1)
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertEquals(1.0, sample(scrape, "auth_failures_total", "reason=\"bad_credentials\""));
+        assertEquals(1.0, sample(scrape, "auth_failures_total", "reason=\"malformed_token\""));
+        assertEquals(0.0, sample(scrape, "auth_failures_total", "reason=\"expired_token\""));
+        assertEquals(1.0, sample(scrape, "user_authenticate_seconds_count", "outcome=\"failure\""));
+        assertTrue(sample(scrape, "jwt_verify_seconds_count", "outcome=\"success\"") >= 1);
+        assertTrue(sample(scrape, "password_hashing_calls_seconds_count", "operation=\"matches\"") >= 2);
+        assertTrue(sample(scrape, "spring_data_repository_invocations_seconds_count", "method=\"findUncachedByUsername\"") >= 1);
+        assertTrue(sample(scrape, "http_server_requests_seconds_count", "uri=\"/api/users/me\"") >= 1);
+        // Latency histograms for percentiles on the Prometheus side
+        for (String histogram : List.of("jwt_verify_seconds", "user_authenticate_seconds", "password_hashing_calls_seconds",
+                "spring_data_repository_invocations_seconds", "http_server_requests_seconds")) {
+            assertTrue(scrape.contains(histogram + "_bucket{"), "No histogram for " + histogram);
+        }
+        assertTrue(sample(scrape, "hikaricp_connections_max", "pool=") > 0);
+        assertTrue(sample(scrape, "executor_pool_size_threads", "name=\"password.hashing\"") > 0);
+    }
+
+    @Test
+    @DisplayName("Should require an ADMIN token to scrape from other addresses")
+    void testPrometheusScrape_OtherAddress() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")
+                .with(request -> {
+                    request.setRemoteAddr("203.0.113.7");
+                    return request;
+                }))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * Value of the first scraped sample of a metric whose labels contain the fragment
+     */
+    private static double sample(String scrape, String metric, String labels) {
+        return scrape.lines()
+                .filter(line -> line.startsWith(metric + "{") && line.contains(labels))
+                .findFirst()
+                .map(line -> Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1)))
+                .orElseThrow(() -> new AssertionError("No " + metric + " sample with " + labels));
+    }
+}
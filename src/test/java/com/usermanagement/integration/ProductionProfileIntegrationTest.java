@@ -0,0 +1,140 @@
+package com.usermanagement.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.dto.LoginRequest;
+import com.usermanagement.entity.User;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration Tests for the prod profile
+ * Boots against a file-backed H2 database whose schema is created by the Flyway migrations
+ * and only validated by Hibernate, with the access log written to the same temporary directory
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("prod")
+@DisplayName("Production Profile Integration Tests")
+class ProductionProfileIntegrationTest {
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void databaseFile(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + dataDir.resolve("usermanagementdb"));
+        registry.add("access-log.file", () -> dataDir.resolve("access.log").toString());
+        // Cache regions are shared by every test context in the JVM; ids here overlap other databases
+        registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache", () -> "false");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Should migrate the schema with its indexes and serve requests on it")
+    void testMigratedSchema() throws Exception {
+        // Assert: migration applied, indexes present, pool configured
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from \"flyway_schema_history\" where \"version\" = '1' and \"success\"", Integer.class));
+
+        List<String> indexes = jdbcTemplate.queryForList(
+                "select lower(index_name) from information_schema.indexes where table_schema = 'PUBLIC'", String.class);
+        assertTrue(indexes.containsAll(List.of("idx_users_created_at_id", "idx_users_role_id",
+                "idx_refresh_tokens_user_id", "idx_refresh_tokens_family_id", "idx_refresh_tokens_expires_at")),
+                "Indexes: " + indexes);
+
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        assertEquals("user-management", hikari.getPoolName());
+        assertEquals(2000, hikari.getConnectionTimeout());
+
+        // Act & Assert: write paths work without open-session-in-view
+        User user = new User();
+        user.setUsername("produser");
+        user.setEmail("prod@example.com");
+        user.setPassword("Password@123");
+
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Username already exists"));
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("produser");
+        loginRequest.setPassword("Password@123");
+
+        String token = objectMapper.readTree(mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+
+        String etag = mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        Long userId = jdbcTemplate.queryForObject("select id from users where username = 'produser'", Long.class);
+
+        mockMvc.perform(patch("/api/users/" + userId)
+                .header("Authorization", "Bearer " + token)
+                .header("If-Match", etag)
+                .contentType("application/merge-patch+json")
+                .content("{\"phoneNumber\":\"5550001111\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.phoneNumber").value("5550001111"));
+
+        mockMvc.perform(patch("/api/users/" + userId)
+                .header("Authorization", "Bearer " + token)
+                .header("If-Match", etag)
+                .contentType("application/merge-patch+json")
+                .content("{\"phoneNumber\":\"5550002222\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        // Assert: requests reach the access log asynchronously, with the authenticated user
+        String expected = "\"method\":\"PATCH\",\"path\":\"/api/users/" + userId + "\",\"status\":412,\"userId\":" + userId;
+        Path accessLog = dataDir.resolve("access.log");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!(Files.exists(accessLog) && Files.readString(accessLog).contains(expected))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        String lines = Files.readString(accessLog);
+        assertTrue(lines.contains(expected), lines);
+        assertTrue(lines.contains("\"path\":\"/api/auth/signup\",\"status\":201"), lines);
+    }
+}
@@ -0,0 +1,140 @@
+package com.usermanagement.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.dto.LoginRequest;
+import com.usermanagement.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration Tests for the replicas profile
+ * The replica pool points at its own in-memory database, which only changes when the test copies
+ * the primary into it, so it lags the primary the way a real replica can
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("replicas")
+@TestPropertySource(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingIntegrationTest.PRIMARY_URL,
+        "datasource.replica.urls=" + ReadReplicaRoutingIntegrationTest.REPLICA_URL,
+        "datasource.routing.read-your-writes-ms=60000",
+        // Cache regions are shared by every test context in the JVM; ids here overlap other databases
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+@DisplayName("Read Replica Routing Integration Tests")
+class ReadReplicaRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:replicaroutingdb";
+    static final String REPLICA_URL = "jdbc:h2:mem:replicaroutingreplicadb;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should show a write to its author at once while other users read the lagging replica")
+    void testReadsRoutedToReplica() throws Exception {
+        // Arrange
+        String authorToken = signUpAndLogin("replicaauthor", "author@example.com");
+        String readerToken = signUpAndLogin("replicareader", "reader@example.com");
+
+        // The replica catches up once, then misses every later write
+        replicate();
+
+        MockHttpServletResponse me = mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + authorToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        String id = objectMapper.readTree(me.getContentAsString()).get("id").asText();
+
+        // Act: a read by a user who has not written
+        long replicaBefore = connectionsUsed("replica-1");
+        mockMvc.perform(get("/api/users/" + id)
+                .header("Authorization", "Bearer " + readerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("replicaauthor"));
+
+        // Assert
+        assertTrue(connectionsUsed("replica-1") > replicaBefore);
+
+        // Act: the author's write, which only reaches the primary
+        mockMvc.perform(patch("/api/users/" + id)
+                .header("Authorization", "Bearer " + authorToken)
+                .header("If-Match", me.getHeader("ETag"))
+                .contentType("application/merge-patch+json")
+                .content("{\"phoneNumber\":\"5550003333\"}"))
+                .andExpect(status().isOk());
+
+        // Assert: the author reads their write from the primary inside the read-your-writes window
+        mockMvc.perform(get("/api/users/" + id)
+                .header("Authorization", "Bearer " + authorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phoneNumber").value("5550003333"));
+
+        // Assert: another user still reads the replica's state from before the write
+        mockMvc.perform(get("/api/users/" + id)
+                .header("Authorization", "Bearer " + readerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phoneNumber").doesNotExist());
+
+        // Assert: revalidating with the stale ETag is checked against the primary
+        mockMvc.perform(get("/api/users/" + id)
+                .header("Authorization", "Bearer " + readerToken)
+                .header("If-None-Match", me.getHeader("ETag")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phoneNumber").value("5550003333"));
+    }
+
+    private String signUpAndLogin(String username, String email) throws Exception {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("Password@123");
+
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(username);
+        loginRequest.setPassword("Password@123");
+
+        return objectMapper.readTree(mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+    }
+
+    // Copy the primary's schema and rows into the replica database, bypassing the read-only pool
+    private static void replicate() {
+        JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        primary.queryForList("script", String.class).forEach(replica::execute);
+    }
+
+    private long connectionsUsed(String pool) {
+        return meterRegistry.get("hikaricp.connections.usage").tag("pool", pool).timer().count();
+    }
+}
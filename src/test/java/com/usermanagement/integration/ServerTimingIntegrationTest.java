@@ -0,0 +1,117 @@
+package com.usermanagement.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.dto.LoginRequest;
+import com.usermanagement.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration Tests for the Server-Timing breakdown
+ * Runs with server-timing.enabled=true and checks the stages and trace id returned on
+ * authenticated requests, and that streaming endpoints are left unbuffered
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "server-timing.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:servertimingdb",
+        // Cache regions are shared by every test context in the JVM; ids here overlap other databases
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+@DisplayName("Server-Timing Integration Tests")
+class ServerTimingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User user = new User();
+        user.setUsername("timinguser");
+        user.setEmail("timing@example.com");
+        user.setPassword("Password@123");
+
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(user)));
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("timinguser");
+        loginRequest.setPassword("Password@123");
+        token = objectMapper.readTree(mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Server-Timing"))
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @Test
+    @DisplayName("Should break an authenticated request down by stage")
+    void testServerTimingStages() throws Exception {
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("timinguser"))
+                .andReturn().getResponse();
+
+        // Assert
+        String serverTiming = response.getHeader("Server-Timing");
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.contains("jwt.verify;dur="), serverTiming);
+        assertTrue(serverTiming.contains("db;dur="), serverTiming);
+        assertTrue(serverTiming.contains("handler;dur="), serverTiming);
+        assertTrue(serverTiming.contains("serialize;dur="), serverTiming);
+        assertTrue(serverTiming.matches(".*, total;dur=\\d+\\.\\d{3}"), serverTiming);
+        assertTrue(response.getHeader("X-Trace-Id").matches("[0-9a-f]{16}"));
+        assertTrue(response.getContentAsString().contains("timinguser"));
+    }
+
+    @Test
+    @DisplayName("Should echo a valid trace id and replace an invalid one")
+    void testTraceIdPropagation() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + token)
+                .header("X-Trace-Id", "client-trace-0001"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Trace-Id", "client-trace-0001"));
+
+        String replaced = mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + token)
+                .header("X-Trace-Id", "bad id\r\ninjected"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("X-Trace-Id");
+        assertNotEquals("bad id\r\ninjected", replaced);
+        assertTrue(replaced.matches("[0-9a-f]{16}"));
+    }
+
+    @Test
+    @DisplayName("Should not time or buffer excluded streaming endpoints")
+    void testExcludedPath() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/export")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(header().doesNotExist("Server-Timing"))
+                .andExpect(header().doesNotExist("X-Trace-Id"));
+    }
+}
@@ -1,17 +1,26 @@
 package com.usermanagement.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.usermanagement.dto.LoginRequest;
+import com.usermanagement.dto.RefreshRequest;
 import com.usermanagement.entity.User;
 import com.usermanagement.repository.UserRepository;
+import com.usermanagement.service.UserSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +44,15 @@ class UserManagementIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
     private static String adminToken;
     private static String userToken;
     private static Long adminUserId;
@@ -264,6 +282,27 @@ class UserManagementIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].username").value("admin"))
                 .andExpect(jsonPath("$[1].username").value("user1"));
+
+        // Page through newest first, one user per page
+        MvcResult firstPage = mockMvc.perform(get("/api/users")
+                .param("size", "1")
+                .param("sort", "createdAt,desc")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].username").value("user1"))
+                .andExpect(header().exists("Link"))
+                .andReturn();
+
+        mockMvc.perform(get("/api/users")
+                .param("size", "1")
+                .param("sort", "createdAt,desc")
+                .param("cursor", firstPage.getResponse().getHeader("X-Next-Cursor"))
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].username").value("admin"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
     }
 
     @Test
@@ -401,4 +440,589 @@ class UserManagementIntegrationTest {
                 .header("Authorization", "Bearer " + token))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @Order(11)
+    @DisplayName("Integration Test 11: Logged out token is rejected")
+    void testLogoutRevokesToken() throws Exception {
+        // Register and login
+        User user = new User();
+        user.setUsername("logoutuser");
+        user.setEmail("logout@example.com");
+        user.setPassword("Password@123");
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(user)));
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("logoutuser");
+        loginRequest.setPassword("Password@123");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        String token = objectMapper.readTree(loginResult.getResponse().getContentAsString())
+                .get("token").asText();
+
+        mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Logout
+        mockMvc.perform(post("/api/auth/logout")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Same token no longer authenticates
+        mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Integration Test 12: Refresh token rotation and reuse detection")
+    void testRefreshTokenRotation() throws Exception {
+        // Register and login
+        User user = new User();
+        user.setUsername("refreshuser");
+        user.setEmail("refresh@example.com");
+        user.setPassword("Password@123");
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(user)));
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("refreshuser");
+        loginRequest.setPassword("Password@123");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andReturn();
+
+        String firstRefreshToken = objectMapper.readTree(loginResult.getResponse().getContentAsString())
+                .get("refreshToken").asText();
+
+        // Rotate
+        MvcResult refreshResult = mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest(firstRefreshToken))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("refreshuser"))
+                .andReturn();
+
+        String accessToken = objectMapper.readTree(refreshResult.getResponse().getContentAsString())
+                .get("token").asText();
+        String secondRefreshToken = objectMapper.readTree(refreshResult.getResponse().getContentAsString())
+                .get("refreshToken").asText();
+
+        mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        // Reusing the rotated token is detected and revokes the chain
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest(firstRefreshToken))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Refresh token reuse detected"));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest(secondRefreshToken))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Integration Test 13: JWKS endpoint publishes the signing key")
+    void testJwksEndpoint() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keys", hasSize(1)))
+                .andExpect(jsonPath("$.keys[0].kty").value("EC"))
+                .andExpect(jsonPath("$.keys[0].alg").value("ES256"))
+                .andExpect(jsonPath("$.keys[0].kid").exists());
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("Integration Test 14: Export streams every user as NDJSON and CSV")
+    void testExportUsers() throws Exception {
+        // Register two users and login
+        for (String username : new String[]{"exportadmin", "exportuser"}) {
+            User user = new User();
+            user.setUsername(username);
+            user.setEmail(username + "@example.com");
+            user.setPassword("Password@123");
+            user.setPhoneNumber("555-0100, ext. 7");
+            mockMvc.perform(post("/api/auth/signup")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(user)));
+        }
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("exportuser");
+        loginRequest.setPassword("Password@123");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        String token = objectMapper.readTree(loginResult.getResponse().getContentAsString())
+                .get("token").asText();
+
+        // NDJSON: one user object per line, no password
+        String ndjson = mockMvc.perform(get("/api/users/export")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = ndjson.split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertEquals("exportadmin", objectMapper.readTree(lines[0]).get("username").asText());
+        Assertions.assertEquals("exportuser", objectMapper.readTree(lines[1]).get("username").asText());
+        Assertions.assertFalse(ndjson.contains("password"));
+
+        // CSV: header plus one quoted-where-needed row per user
+        String csv = mockMvc.perform(get("/api/users/export")
+                .param("format", "csv")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] rows = csv.split("\r\n");
+        Assertions.assertEquals(3, rows.length);
+        Assertions.assertEquals("id,username,email,role,phoneNumber,dateOfBirth,createdAt", rows[0]);
+        Assertions.assertTrue(rows[2].contains(",exportuser,exportuser@example.com,USER,\"555-0100, ext. 7\","));
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("Integration Test 15: Bulk import reports a result per row")
+    void testImportUsers() throws Exception {
+        // Register the first user (ADMIN) and login
+        User admin = new User();
+        admin.setUsername("importadmin");
+        admin.setEmail("importadmin@example.com");
+        admin.setPassword("Admin@123456");
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(admin)))
+                .andExpect(status().isCreated());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("importadmin");
+        loginRequest.setPassword("Admin@123456");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        String token = objectMapper.readTree(loginResult.getResponse().getContentAsString())
+                .get("token").asText();
+
+        // NDJSON upload: raw password, pre-hashed password, duplicates and invalid rows
+        String hash = new BCryptPasswordEncoder(10).encode("Hashed@123");
+        String weakHash = new BCryptPasswordEncoder(4).encode("Hashed@123");
+        String upload = String.join("\n",
+                "{\"username\":\"imported1\",\"email\":\"imported1@example.com\",\"password\":\"Import@123\"}",
+                "{\"username\":\"imported2\",\"email\":\"imported2@example.com\",\"passwordHash\":\"" + hash + "\"}",
+                "{\"username\":\"imported1\",\"email\":\"other@example.com\",\"password\":\"Import@123\"}",
+                "{\"username\":\"imported3\",\"email\":\"importadmin@example.com\",\"password\":\"Import@123\"}",
+                "{\"username\":\"imported4\",\"email\":\"not-an-email\",\"password\":\"Import@123\"}",
+                "{\"username\":\"imported5\",\"email\":\"imported5@example.com\",\"passwordHash\":\"plain\"}",
+                "{\"username\":\"imported6\",\"email\":\"imported6@example.com\",\"passwordHash\":\"" + weakHash + "\"}",
+                "{\"username\":\"imported7\",\"email\":\"imported7@example.com\",\"password\":\"Import@123\",\"role\":\"ADMIN\"}");
+
+        String results = mockMvc.perform(post("/api/users/import")
+                .header("Authorization", "Bearer " + token)
+                .contentType("application/x-ndjson")
+                .content(upload))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = results.split("\n");
+        Assertions.assertEquals(8, lines.length);
+        Assertions.assertEquals("created", objectMapper.readTree(lines[0]).get("status").asText());
+        Assertions.assertEquals("created", objectMapper.readTree(lines[1]).get("status").asText());
+        Assertions.assertEquals("Username already exists", objectMapper.readTree(lines[2]).get("error").asText());
+        Assertions.assertEquals("Email already exists", objectMapper.readTree(lines[3]).get("error").asText());
+        Assertions.assertEquals("Email should be valid", objectMapper.readTree(lines[4]).get("error").asText());
+        Assertions.assertEquals("Password hash must be a BCrypt hash", objectMapper.readTree(lines[5]).get("error").asText());
+        Assertions.assertEquals(6, objectMapper.readTree(lines[5]).get("row").asInt());
+        Assertions.assertEquals("Password hash cost must be at least 10", objectMapper.readTree(lines[6]).get("error").asText());
+        Assertions.assertEquals("Importing ADMIN users is disabled", objectMapper.readTree(lines[7]).get("error").asText());
+        Assertions.assertEquals(3, userRepository.count());
+
+        // JSON array upload, rows already taken by the first import
+        String again = mockMvc.perform(post("/api/users/import")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + upload.split("\n")[0] + "]"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Assertions.assertEquals("Username already exists", objectMapper.readTree(again).get("error").asText());
+
+        // Both imported users can login
+        for (String[] credentials : new String[][]{{"imported1", "Import@123"}, {"imported2", "Hashed@123"}}) {
+            loginRequest.setUsername(credentials[0]);
+            loginRequest.setPassword(credentials[1]);
+            mockMvc.perform(post("/api/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(loginRequest)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.role").value("USER"));
+        }
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("Integration Test 16: Bulk role update and delete by filter and ids")
+    void testBulkUpdateAndDelete() throws Exception {
+        // Register the first user (ADMIN) and login
+        User admin = new User();
+        admin.setUsername("bulkadmin");
+        admin.setEmail("bulkadmin@dept.example.com");
+        admin.setPassword("Admin@123456");
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(admin)))
+                .andExpect(status().isCreated());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("bulkadmin");
+        loginRequest.setPassword("Admin@123456");
+        String adminBulkToken = objectMapper.readTree(mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+
+        // Three users in the department, one outside
+        String hash = new BCryptPasswordEncoder(10).encode("Member@123");
+        StringBuilder upload = new StringBuilder();
+        for (String email : new String[]{"m1@dept.example.com", "m2@dept.example.com", "m3@dept.example.com", "o1@other.example.com"}) {
+            upload.append("{\"username\":\"").append(email, 0, 2).append("user\",\"email\":\"").append(email)
+                    .append("\",\"passwordHash\":\"").append(hash).append("\"}\n");
+        }
+        mockMvc.perform(post("/api/users/import")
+                .header("Authorization", "Bearer " + adminBulkToken)
+                .contentType("application/x-ndjson")
+                .content(upload.toString()))
+                .andExpect(status().isOk());
+
+        loginRequest.setUsername("m1user");
+        loginRequest.setPassword("Member@123");
+        String memberToken = objectMapper.readTree(mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+
+        // Promote the department by filter; the acting admin is never matched
+        mockMvc.perform(post("/api/users/bulk-update")
+                .header("Authorization", "Bearer " + adminBulkToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\":{\"emailDomain\":\"dept.example.com\"},\"role\":\"ADMIN\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(3));
+
+        Assertions.assertEquals("ADMIN", userRepository.findByUsername("m2user").orElseThrow().getRole());
+        Assertions.assertEquals("USER", userRepository.findByUsername("o1user").orElseThrow().getRole());
+
+        // Tokens carrying the old role are revoked
+        mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + memberToken))
+                .andExpect(status().isUnauthorized());
+
+        // Delete by ids, unknown ids are not counted
+        Long m1 = userRepository.findByUsername("m1user").orElseThrow().getId();
+        Long m2 = userRepository.findByUsername("m2user").orElseThrow().getId();
+        mockMvc.perform(post("/api/users/bulk-delete")
+                .header("Authorization", "Bearer " + adminBulkToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + m1 + "," + m2 + ",999999]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+
+        // Delete by filter keeps the acting admin
+        mockMvc.perform(post("/api/users/bulk-delete")
+                .header("Authorization", "Bearer " + adminBulkToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\":{\"role\":\"ADMIN\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1));
+
+        Assertions.assertEquals(2, userRepository.count());
+        Assertions.assertTrue(userRepository.existsByUsername("bulkadmin"));
+        Assertions.assertTrue(userRepository.existsByUsername("o1user"));
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Integration Test 17: User reads are served from the second-level cache and see updates")
+    void testSecondLevelCache() throws Exception {
+        // Register and login
+        User user = new User();
+        user.setUsername("cacheduser");
+        user.setEmail("cached@example.com");
+        user.setPassword("Password@123");
+
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("cacheduser");
+        loginRequest.setPassword("Password@123");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        String token = objectMapper.readTree(loginResult.getResponse().getContentAsString())
+                .get("token").asText();
+        Long userId = userRepository.findByUsername("cacheduser").orElseThrow().getId();
+
+        double userHits = cacheHits(User.CACHE_REGION);
+        double naturalIdHits = cacheHits(User.NATURAL_ID_CACHE_REGION);
+
+        // Repeated reads by id and by username hit the cache
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/users/me")
+                    .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.username").value("cacheduser"));
+            userRepository.findByUsername("cacheduser").orElseThrow();
+        }
+
+        Assertions.assertTrue(cacheHits(User.CACHE_REGION) > userHits);
+        Assertions.assertTrue(cacheHits(User.NATURAL_ID_CACHE_REGION) > naturalIdHits);
+
+        // Updates replace the cached state
+        User updatedUser = new User();
+        updatedUser.setPhoneNumber("5550001111");
+
+        mockMvc.perform(put("/api/users/" + userId)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedUser)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phoneNumber").value("5550001111"));
+
+        // A password change made elsewhere (another node, written straight to the table) applies
+        // to the next login even though this node still caches the user
+        jdbcTemplate.update("update users set password = ? where id = ?",
+                new BCryptPasswordEncoder(4).encode("Changed@123"), userId);
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isUnauthorized());
+
+        loginRequest.setPassword("Changed@123");
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("Integration Test 18: Conditional updates fail with 412 once the user has changed")
+    void testOptimisticConcurrency() throws Exception {
+        // Register and login
+        User user = new User();
+        user.setUsername("patchuser");
+        user.setEmail("patch@example.com");
+        user.setPassword("Password@123");
+        user.setPhoneNumber("1234567890");
+
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isCreated());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("patchuser");
+        loginRequest.setPassword("Password@123");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        String token = objectMapper.readTree(loginResult.getResponse().getContentAsString())
+                .get("token").asText();
+
+        MvcResult current = mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = current.getResponse().getHeader("ETag");
+        Long userId = objectMapper.readTree(current.getResponse().getContentAsString()).get("id").asLong();
+
+        // Patch based on the current version
+        String newEtag = mockMvc.perform(patch("/api/users/" + userId)
+                .header("Authorization", "Bearer " + token)
+                .header("If-Match", etag)
+                .contentType("application/merge-patch+json")
+                .content("{\"dateOfBirth\":\"1990-01-01\",\"phoneNumber\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.dateOfBirth").value("1990-01-01"))
+                .andExpect(jsonPath("$.user.phoneNumber").doesNotExist())
+                .andExpect(jsonPath("$.user.email").value("patch@example.com"))
+                .andReturn().getResponse().getHeader("ETag");
+        Assertions.assertNotEquals(etag, newEtag);
+
+        // A second writer still holding the old version is rejected
+        mockMvc.perform(put("/api/users/" + userId)
+                .header("Authorization", "Bearer " + token)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"phoneNumber\":\"5550001111\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/users/me")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(header().string("ETag", newEtag))
+                .andExpect(jsonPath("$.phoneNumber").doesNotExist());
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("Integration Test 19: ADMIN is not granted again after the bootstrap admin is deleted")
+    void testNoAdminAfterBootstrapAdminDeleted() throws Exception {
+        // Arrange: first signup becomes ADMIN, second is USER
+        User admin = new User();
+        admin.setUsername("bootadmin");
+        admin.setEmail("bootadmin@example.com");
+        admin.setPassword("Admin@123456");
+        String response = mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(admin)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.user.role").value("ADMIN"))
+                .andReturn().getResponse().getContentAsString();
+        Long bootstrapAdminId = objectMapper.readTree(response).get("user").get("id").asLong();
+
+        User member = new User();
+        member.setUsername("member");
+        member.setEmail("member@example.com");
+        member.setPassword("Member@123456");
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(member)))
+                .andExpect(jsonPath("$.user.role").value("USER"));
+
+        userRepository.deleteById(bootstrapAdminId);
+
+        // Act & Assert: users still exist, so the next signup is a regular USER
+        User next = new User();
+        next.setUsername("nextuser");
+        next.setEmail("next@example.com");
+        next.setPassword("Next@123456");
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(next)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.user.role").value("USER"));
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("Integration Test 20: Search index refresh picks up users written through other nodes")
+    void testSearchIndexRefresh() throws Exception {
+        // Arrange: two users signed up through this node
+        String[] names = {"remotebob", "remotecarol"};
+        for (String name : names) {
+            User user = new User();
+            user.setUsername(name);
+            user.setEmail(name + "@example.com");
+            user.setPassword("Remote@123456");
+            mockMvc.perform(post("/api/auth/signup")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(user)))
+                    .andExpect(status().isCreated());
+        }
+        Long bobId = userRepository.findByUsername("remotebob").orElseThrow().getId();
+        Long carolId = userRepository.findByUsername("remotecarol").orElseThrow().getId();
+
+        // Another node inserts alice, renames bob and deletes carol, straight in the database
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("insert into users (id, username, email, password, role, created_at, updated_at, "
+                        + "version, token_version) values (900001, 'remotealice', 'remotealice@example.com', 'x', "
+                        + "'USER', ?, ?, 0, 0)", now, now);
+        jdbcTemplate.update("update users set username = 'remoterobert', version = version + 1, updated_at = ? "
+                + "where id = ?", now, bobId);
+        jdbcTemplate.update("insert into user_deletions (user_id, deleted_at) values (?, ?)", carolId, now);
+        jdbcTemplate.update("delete from users where id = ?", carolId);
+
+        // Act
+        userSearchIndex.refresh();
+
+        // Assert
+        Assertions.assertEquals(List.of(900001L, bobId), userSearchIndex.search("remote", 10));
+        Assertions.assertEquals(List.of(bobId), userSearchIndex.search("remoterob", 10));
+        Assertions.assertEquals(List.of(), userSearchIndex.search("remotecarol", 10));
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("Integration Test 21: Logout ignores a refresh token of another user")
+    void testLogoutIgnoresOtherUsersRefreshToken() throws Exception {
+        // Register and login two users
+        String[] tokens = new String[2];
+        String[] refreshTokens = new String[2];
+        String[] usernames = {"logoutowner", "logoutvictim"};
+        for (int i = 0; i < usernames.length; i++) {
+            User user = new User();
+            user.setUsername(usernames[i]);
+            user.setEmail(usernames[i] + "@example.com");
+            user.setPassword("Password@123");
+            mockMvc.perform(post("/api/auth/signup")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(user)));
+
+            LoginRequest loginRequest = new LoginRequest();
+            loginRequest.setUsername(usernames[i]);
+            loginRequest.setPassword("Password@123");
+            JsonNode login = objectMapper.readTree(mockMvc.perform(post("/api/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(loginRequest)))
+                    .andReturn().getResponse().getContentAsString());
+            tokens[i] = login.get("token").asText();
+            refreshTokens[i] = login.get("refreshToken").asText();
+        }
+
+        // The first user logs out presenting the second user's refresh token
+        mockMvc.perform(post("/api/auth/logout")
+                .header("Authorization", "Bearer " + tokens[0])
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest(refreshTokens[1]))))
+                .andExpect(status().isOk());
+
+        // The second user's refresh token still works
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequest(refreshTokens[1]))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("logoutvictim"));
+    }
+
+    private double cacheHits(String region) {
+        return meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit")
+                .functionCounter().count();
+    }
 }
@@ -0,0 +1,158 @@
+package com.usermanagement.service;
+
+import com.usermanagement.dto.UserDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for UserSearchIndex
+ * Tests prefix and substring matching, ranking, limits, index maintenance, refreshes and rebuilds
+ */
+@DisplayName("UserSearchIndex Unit Tests")
+class UserSearchIndexTest {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex(null, null, null, 30000, 86400000);
+        index.put(1L, "Johanna", "jo@example.com", 0);
+        index.put(2L, "anna", "anna@corp.example.com", 0);
+        index.put(3L, "bob", "annual.report@example.com", 0);
+        index.put(4L, "hannah", "hannah@example.com", 0);
+    }
+
+    @Test
+    @DisplayName("Should rank username prefixes, then email prefixes, then substrings")
+    void testSearch_Ranking() {
+        // Act
+        List<Long> result = index.search("ANN", 10);
+
+        // Assert
+        assertEquals(List.of(2L, 3L, 1L, 4L), result);
+        assertEquals(List.of(2L, 3L), index.search("ann", 2));
+        assertEquals(List.of(2L), index.search("corp", 10));
+        assertEquals(List.of(), index.search("xyz", 10));
+    }
+
+    @Test
+    @DisplayName("Should only match prefixes for queries shorter than three characters")
+    void testSearch_ShortQuery() {
+        // Act & Assert
+        assertEquals(List.of(2L, 3L), index.search("an", 10));
+        assertEquals(List.of(), index.search("nn", 10));
+        assertEquals(List.of(), index.search("  ", 10));
+    }
+
+    @Test
+    @DisplayName("Should follow renames and removals")
+    void testPutAndRemove() {
+        // Act
+        index.put(2L, "bella", "bella@example.com", 1);
+        index.remove(4L);
+        index.remove(99L);
+
+        // Assert
+        assertEquals(List.of(3L, 1L), index.search("ann", 10));
+        assertEquals(List.of(2L), index.search("ella", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the users table and keep newer writes made during the rebuild")
+    void testReconcile() {
+        // Arrange: user 5 was created and user 2 renamed on another node, user 4 deleted there
+        Stream<UserDTO> users = Stream.of(user(1L, "Johanna", "jo@example.com", 0), user(2L, "bella", "bella@example.com", 1),
+                user(3L, "bob", "annual.report@example.com", 0), user(5L, "annabel", "annabel@example.com", 0))
+                // Renamed on this node after the stream read user 3
+                .peek(user -> {
+                    if (user.getId() == 5L) {
+                        index.put(3L, "robert", "robert@example.com", 1);
+                    }
+                });
+
+        // Act
+        int changed = index.reconcile(users);
+
+        // Assert
+        assertEquals(3, changed);
+        assertEquals(List.of(5L, 1L), index.search("ann", 10));
+        assertEquals(List.of(3L), index.search("robert", 10));
+        assertEquals(List.of(), index.search("bob", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Should not remove users added on this node while the rebuild runs")
+    void testReconcile_AddedDuringRebuild() {
+        // Arrange
+        Stream<UserDTO> users = Stream.of(user(1L, "johanna", "JO@example.com", 0), user(2L, "anna", "anna@corp.example.com", 0),
+                user(3L, "bob", "annual.report@example.com", 0), user(4L, "hannah", "hannah@example.com", 0))
+                .peek(user -> {
+                    if (user.getId() == 4L) {
+                        index.put(6L, "carol", "carol@example.com", 0);
+                    }
+                });
+
+        // Act
+        int changed = index.reconcile(users);
+
+        // Assert
+        assertEquals(0, changed);
+        assertEquals(List.of(6L), index.search("carol", 10));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    @DisplayName("Should apply changed and deleted users without letting older rows win")
+    void testApplyChanges() {
+        // Arrange: user 2 was renamed again on this node after the refresh read version 1
+        index.put(2L, "bella", "bella@example.com", 2);
+        Stream<UserDTO> changedUsers = Stream.of(user(2L, "annabel", "annabel@example.com", 1),
+                user(3L, "robert", "robert@example.com", 1), user(7L, "dave", "dave@example.com", 0));
+
+        // Act
+        int changed = index.applyChanges(changedUsers, List.of(4L, 99L));
+
+        // Assert
+        assertEquals(3, changed);
+        assertEquals(List.of(2L), index.search("bella", 10));
+        assertEquals(List.of(3L), index.search("rob", 10));
+        assertEquals(List.of(7L), index.search("dave", 10));
+        assertEquals(List.of(), index.search("hannah", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Should apply refreshes larger than one chunk completely")
+    void testApplyChanges_SeveralChunks() {
+        // Arrange
+        int count = UserSearchIndex.APPLY_CHUNK_SIZE * 2 + 1;
+        Stream<UserDTO> changedUsers = LongStream.rangeClosed(101, 100 + count)
+                .mapToObj(id -> user(id, "user" + id, "user" + id + "@example.com", 0));
+
+        // Act
+        int changed = index.applyChanges(changedUsers, List.of());
+
+        // Assert
+        assertEquals(count, changed);
+        assertEquals(4 + count, index.size());
+        assertEquals(List.of(100L + count), index.search("user" + (100 + count), 10));
+    }
+
+    private static UserDTO user(Long id, String username, String email, long version) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setVersion(version);
+        return user;
+    }
+}
@@ -1,22 +1,39 @@
 package com.usermanagement.service;
 
+import com.usermanagement.config.TokenRevocationList;
+import com.usermanagement.dto.UserDTO;
+import com.usermanagement.dto.UserPage;
 import com.usermanagement.entity.User;
+import com.usermanagement.exception.PreconditionFailedException;
+import com.usermanagement.repository.UserDeletionRepository;
 import com.usermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Optional;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -31,9 +48,27 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserDeletionRepository userDeletionRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private Validator validator;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private UserService userService;
 
@@ -47,17 +82,16 @@ class UserServiceTest {
         testUser.setEmail("test@example.com");
         testUser.setPassword("password123");
         testUser.setRole("USER");
+        testUser.setVersion(3L);
     }
 
     @Test
     @DisplayName("Should register new user successfully")
     void testRegisterUser_Success() {
         // Arrange
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.count()).thenReturn(0L);
+        when(userRepository.existsByIdNotNull()).thenReturn(true);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         // Act
         User result = userService.registerUser(testUser);
@@ -65,44 +99,44 @@ class UserServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("testuser", result.getUsername());
-        verify(userRepository).existsByUsername("testuser");
-        verify(userRepository).existsByEmail("test@example.com");
         verify(passwordEncoder).encode("password123");
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).count();
     }
 
     @Test
     @DisplayName("Should assign ADMIN role to first user")
     void testRegisterUser_FirstUserIsAdmin() {
         // Arrange
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.count()).thenReturn(0L);
+        when(userRepository.existsByIdNotNull()).thenReturn(false, true);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
-            User user = invocation.getArgument(0);
-            assertEquals("ADMIN", user.getRole());
-            return user;
-        });
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        userService.registerUser(testUser);
-
-        // Assert
-        verify(userRepository).save(argThat(user -> "ADMIN".equals(user.getRole())));
+        User first = userService.registerUser(testUser);
+        User secondUser = new User();
+        secondUser.setVersion(0L);
+        User second = userService.registerUser(secondUser);
+
+        // Assert: only the signup into an empty table is ADMIN
+        assertEquals("ADMIN", first.getRole());
+        assertEquals(Boolean.TRUE, first.getAdminBootstrap());
+        assertEquals("USER", second.getRole());
+        assertNull(second.getAdminBootstrap());
+        verify(userRepository, times(2)).existsByIdNotNull();
     }
 
     @Test
     @DisplayName("Should assign USER role to subsequent users")
     void testRegisterUser_SubsequentUsersAreUser() {
         // Arrange
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.existsByIdNotNull()).thenReturn(true);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
             User user = invocation.getArgument(0);
             assertEquals("USER", user.getRole());
+            assertNull(user.getAdminBootstrap());
             return user;
         });
 
@@ -110,14 +144,36 @@ class UserServiceTest {
         userService.registerUser(testUser);
 
         // Assert
-        verify(userRepository).save(argThat(user -> "USER".equals(user.getRole())));
+        verify(userRepository).saveAndFlush(argThat(user -> "USER".equals(user.getRole())));
+    }
+
+    @Test
+    @DisplayName("Should fall back to USER when another signup became the first ADMIN")
+    void testRegisterUser_LostAdminBootstrapRace() {
+        // Arrange
+        when(userRepository.existsByIdNotNull()).thenReturn(false);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("Unique index violation: PUBLIC.UK_USERS_ADMIN_BOOTSTRAP_INDEX_4"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        User result = userService.registerUser(testUser);
+
+        // Assert
+        assertEquals("USER", result.getRole());
+        assertNull(result.getAdminBootstrap());
+        verify(userRepository, times(2)).saveAndFlush(any(User.class));
     }
 
     @Test
     @DisplayName("Should throw exception when username already exists")
     void testRegisterUser_DuplicateUsername() {
         // Arrange
-        when(userRepository.existsByUsername("testuser")).thenReturn(true);
+        when(userRepository.existsByIdNotNull()).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("Unique index violation: PUBLIC.UK_USERS_USERNAME_INDEX_4"));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -125,15 +181,16 @@ class UserServiceTest {
         });
 
         assertEquals("Username already exists", exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
     @DisplayName("Should throw exception when email already exists")
     void testRegisterUser_DuplicateEmail() {
         // Arrange
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail("test@example.com")).thenReturn(true);
+        when(userRepository.existsByIdNotNull()).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("Unique index violation: PUBLIC.UK_USERS_EMAIL_INDEX_4"));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -141,7 +198,6 @@ class UserServiceTest {
         });
 
         assertEquals("Email already exists", exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -152,7 +208,7 @@ class UserServiceTest {
         String encodedPassword = "encodedPassword";
         testUser.setPassword(encodedPassword);
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.findUncachedByUsername("testuser")).thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches(rawPassword, encodedPassword)).thenReturn(true);
 
         // Act
@@ -161,15 +217,56 @@ class UserServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("testuser", result.getUsername());
-        verify(userRepository).findByUsername("testuser");
+        verify(userRepository).findUncachedByUsername("testuser");
         verify(passwordEncoder).matches(rawPassword, encodedPassword);
+        assertEquals(1, meterRegistry.get("user.authenticate").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should re-hash password with current parameters on successful login")
+    void testAuthenticateUser_UpgradesEncoding() {
+        // Arrange
+        testUser.setPassword("legacyHash");
+        when(userRepository.findUncachedByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", "legacyHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("legacyHash")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("{bcrypt}currentHash");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        User result = userService.authenticateUser("testuser", "password123");
+
+        // Assert
+        assertEquals("{bcrypt}currentHash", result.getPassword());
+        verify(userRepository).save(testUser);
+    }
+
+    @Test
+    @DisplayName("Should still log in when the re-hashed password cannot be saved")
+    void testAuthenticateUser_UpgradeSaveFails() {
+        // Arrange: another login re-hashed the same row first
+        testUser.setPassword("legacyHash");
+        when(userRepository.findUncachedByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", "legacyHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("legacyHash")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("{bcrypt}currentHash");
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 1L));
+
+        // Act
+        User result = userService.authenticateUser("testuser", "password123");
+
+        // Assert
+        assertSame(testUser, result);
+        assertEquals("legacyHash", result.getPassword());
+        assertEquals(1, meterRegistry.get("user.authenticate").tag("outcome", "success").timer().count());
     }
 
     @Test
     @DisplayName("Should throw exception for invalid username")
     void testAuthenticateUser_InvalidUsername() {
         // Arrange
-        when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
+        when(userRepository.findUncachedByUsername("nonexistent")).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -177,6 +274,7 @@ class UserServiceTest {
         });
 
         assertEquals("Invalid username or password", exception.getMessage());
+        assertEquals(1, meterRegistry.get("user.authenticate").tag("outcome", "failure").timer().count());
     }
 
     @Test
@@ -184,7 +282,7 @@ class UserServiceTest {
     void testAuthenticateUser_InvalidPassword() {
         // Arrange
         testUser.setPassword("encodedPassword");
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.findUncachedByUsername("testuser")).thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches("wrongpassword", "encodedPassword")).thenReturn(false);
 
         // Act & Assert
@@ -196,26 +294,58 @@ class UserServiceTest {
     }
 
     @Test
-    @DisplayName("Should get user by ID successfully")
-    void testGetUserById_Success() {
+    @DisplayName("Should get a cached user by ID from the second-level cache")
+    void testGetUserById_Cached() {
         // Arrange
+        when(userRepository.isCached(1L)).thenReturn(true);
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
         // Act
-        User result = userService.getUserById(1L);
+        UserDTO result = userService.getUserById(1L);
 
         // Assert
         assertNotNull(result);
         assertEquals(1L, result.getId());
         assertEquals("testuser", result.getUsername());
         verify(userRepository).findById(1L);
+        verify(userRepository, never()).findDtoById(any());
+    }
+
+    @Test
+    @DisplayName("Should read an uncached user by ID through the projection")
+    void testGetUserById_NotCached() {
+        // Arrange
+        when(userRepository.isCached(1L)).thenReturn(false);
+        when(userRepository.findDtoById(1L)).thenReturn(Optional.of(userService.convertToDTO(testUser)));
+
+        // Act
+        UserDTO result = userService.getUserById(1L);
+
+        // Assert
+        assertEquals("testuser", result.getUsername());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should read a user for revalidation from the primary, never the cache")
+    void testGetUncachedUserById() {
+        // Arrange
+        when(userRepository.findUncachedDtoById(1L)).thenReturn(Optional.of(userService.convertToDTO(testUser)));
+
+        // Act
+        UserDTO result = userService.getUncachedUserById(1L);
+
+        // Assert
+        assertEquals("testuser", result.getUsername());
+        verify(userRepository, never()).isCached(any());
+        verify(userRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Should throw exception when user not found by ID")
     void testGetUserById_NotFound() {
         // Arrange
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.findDtoById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -228,36 +358,91 @@ class UserServiceTest {
     @Test
     @DisplayName("Should get user by username successfully")
     void testGetUserByUsername_Success() {
-        // Arrange
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        // Arrange: username not in the natural-id cache
+        when(userRepository.findCachedIdByUsername("testuser")).thenReturn(Optional.empty());
+        when(userRepository.findDtoByUsername("testuser")).thenReturn(Optional.of(userService.convertToDTO(testUser)));
 
         // Act
-        User result = userService.getUserByUsername("testuser");
+        UserDTO result = userService.getUserByUsername("testuser");
 
         // Assert
         assertNotNull(result);
         assertEquals("testuser", result.getUsername());
-        verify(userRepository).findByUsername("testuser");
+        verify(userRepository, never()).findByUsername(anyString());
     }
 
     @Test
-    @DisplayName("Should get all users successfully")
-    void testGetAllUsers_Success() {
+    @DisplayName("Should return a keyset page with a cursor to the next page")
+    void testGetUsersPage_FirstPage() {
         // Arrange
-        User user2 = new User();
-        user2.setId(2L);
-        user2.setUsername("user2");
-        user2.setEmail("user2@example.com");
+        UserDTO user1 = userService.convertToDTO(testUser);
+        UserDTO user2 = new UserDTO(2L, "user2", "user2@example.com", "USER", null, null, null, 0L);
 
-        when(userRepository.findAll()).thenReturn(Arrays.asList(testUser, user2));
+        when(userRepository.findPageByIdAsc(0L, PageRequest.of(0, 2))).thenReturn(Arrays.asList(user1, user2));
 
         // Act
-        var result = userService.getAllUsers();
+        UserPage page = userService.getUsersPage("id", null, 1);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(userRepository).findAll();
+        assertEquals(1, page.getUsers().size());
+        assertEquals("testuser", page.getUsers().get(0).getUsername());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor position and end on the last page")
+    void testGetUsersPage_NextPage() {
+        // Arrange
+        UserDTO user1 = new UserDTO(1L, "testuser", "test@example.com", "USER", null, null,
+                LocalDateTime.of(2024, 1, 15, 10, 30), 0L);
+        UserDTO user2 = new UserDTO(2L, "user2", "user2@example.com", "USER", null, null,
+                LocalDateTime.of(2024, 1, 14, 9, 0), 0L);
+
+        when(userRepository.findPageByCreatedAtDesc(any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenReturn(Arrays.asList(user1, user2))
+                .thenReturn(List.of(user2));
+
+        // Act
+        UserPage first = userService.getUsersPage("createdAt,desc", null, 1);
+        UserPage second = userService.getUsersPage("createdAt,desc", first.getNextCursor(), 1);
+
+        // Assert
+        assertEquals("user2", second.getUsers().get(0).getUsername());
+        assertNull(second.getNextCursor());
+        verify(userRepository).findPageByCreatedAtDesc(LocalDateTime.of(2024, 1, 15, 10, 30), 1L, PageRequest.of(0, 2));
+    }
+
+    @Test
+    @DisplayName("Should return search hits in index order and skip users deleted meanwhile")
+    void testSearchUsers_KeepsIndexOrder() {
+        // Arrange
+        UserDTO first = new UserDTO(7L, "annabel", "annabel@example.com", "USER", null, null, null, 0L);
+        UserDTO second = new UserDTO(3L, "joanna", "joanna@example.com", "USER", null, null, null, 0L);
+        when(userSearchIndex.search("anna", UserService.MAX_SEARCH_LIMIT)).thenReturn(List.of(7L, 5L, 3L));
+        when(userRepository.findDtosByIds(List.of(7L, 5L, 3L))).thenReturn(List.of(second, first));
+
+        // Act
+        List<UserDTO> result = userService.searchUsers("anna", 1000);
+
+        // Assert
+        assertEquals(List.of(first, second), result);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown sort and cursors from another sort")
+    void testGetUsersPage_InvalidInput() {
+        // Arrange
+        UserDTO user1 = userService.convertToDTO(testUser);
+        when(userRepository.findPageByIdAsc(0L, PageRequest.of(0, 2))).thenReturn(Arrays.asList(user1, user1));
+        String idCursor = userService.getUsersPage("id", null, 1).getNextCursor();
+
+        // Act & Assert
+        assertEquals("Invalid sort: password",
+                assertThrows(RuntimeException.class, () -> userService.getUsersPage("password", null, 10)).getMessage());
+        assertEquals("Invalid cursor",
+                assertThrows(RuntimeException.class, () -> userService.getUsersPage("createdAt", idCursor, 10)).getMessage());
+        assertEquals("Invalid cursor",
+                assertThrows(RuntimeException.class, () -> userService.getUsersPage("id", "not-a-cursor", 10)).getMessage());
     }
 
     @Test
@@ -269,34 +454,131 @@ class UserServiceTest {
         updatedUser.setEmail("newemail@example.com");
         updatedUser.setPassword("newpassword");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findUncachedById(1L)).thenReturn(Optional.of(testUser));
         when(userRepository.existsByUsername("newusername")).thenReturn(false);
         when(userRepository.existsByEmail("newemail@example.com")).thenReturn(false);
         when(passwordEncoder.encode("newpassword")).thenReturn("encodedNewPassword");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         // Act
-        User result = userService.updateUser(1L, updatedUser);
+        User result = userService.updateUser(1L, updatedUser, null);
 
         // Assert
         assertNotNull(result);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
         verify(passwordEncoder).encode("newpassword");
     }
 
+    @Test
+    @DisplayName("Should apply merge patch to the listed fields only")
+    void testPatchUser_Success() {
+        // Arrange
+        testUser.setPhoneNumber("1234567890");
+        testUser.setDateOfBirth("1990-01-01");
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("email", "patched@example.com");
+        patch.put("phoneNumber", null);
+
+        when(userRepository.findUncachedById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsByEmail("patched@example.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(testUser)).thenReturn(testUser);
+
+        // Act
+        User result = userService.patchUser(1L, patch, 3L);
+
+        // Assert
+        assertEquals("patched@example.com", result.getEmail());
+        assertNull(result.getPhoneNumber());
+        assertEquals("1990-01-01", result.getDateOfBirth());
+        assertEquals("testuser", result.getUsername());
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userSearchIndex).put(1L, "testuser", "patched@example.com", 3L);
+    }
+
+    @Test
+    @DisplayName("Should reject merge patch of read-only or required fields")
+    void testPatchUser_InvalidFields() {
+        // Arrange
+        when(userRepository.findUncachedById(1L)).thenReturn(Optional.of(testUser));
+        Map<String, Object> removeEmail = new HashMap<>();
+        removeEmail.put("email", null);
+
+        // Act & Assert
+        assertEquals("Field cannot be changed: role",
+                assertThrows(RuntimeException.class, () -> userService.patchUser(1L, Map.of("role", "ADMIN"), null)).getMessage());
+        assertEquals("email cannot be removed",
+                assertThrows(RuntimeException.class, () -> userService.patchUser(1L, removeEmail, null)).getMessage());
+        assertEquals("username must be a string",
+                assertThrows(RuntimeException.class, () -> userService.patchUser(1L, Map.of("username", 5), null)).getMessage());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should fail the precondition when the expected version is outdated")
+    void testUpdateUser_StaleVersion() {
+        // Arrange
+        when(userRepository.findUncachedById(1L)).thenReturn(Optional.of(testUser));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> userService.updateUser(1L, new User(), 2L));
+        assertThrows(PreconditionFailedException.class,
+                () -> userService.patchUser(1L, Map.of("phoneNumber", "5550001111"), 2L));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+
+        // Another update committed between load and flush
+        when(userRepository.saveAndFlush(testUser))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 1L));
+        assertThrows(PreconditionFailedException.class,
+                () -> userService.patchUser(1L, Map.of("phoneNumber", "5550001111"), 3L));
+    }
+
     @Test
     @DisplayName("Should delete user successfully")
     void testDeleteUser_Success() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findUncachedById(1L)).thenReturn(Optional.of(testUser));
         doNothing().when(userRepository).delete(testUser);
 
         // Act
         userService.deleteUser(1L);
 
         // Assert
-        verify(userRepository).findById(1L);
+        verify(userRepository).findUncachedById(1L);
+        verify(userDeletionRepository).recordDeletions(List.of(1L));
         verify(userRepository).delete(testUser);
+        verify(userSearchIndex).remove(1L);
+        verify(refreshTokenService).revokeAllForUser(1L);
+        verify(tokenRevocationList).revokeUser(1L, Integer.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("Should bump token version atomically and revoke tokens for user")
+    void testRevokeTokens_Success() {
+        // Arrange
+        testUser.setTokenVersion(3);
+        when(userRepository.incrementTokenVersion(1L)).thenReturn(1);
+        when(userRepository.findUncachedById(1L)).thenReturn(Optional.of(testUser));
+
+        // Act
+        User result = userService.revokeTokens(1L);
+
+        // Assert
+        assertEquals(3, result.getTokenVersion());
+        verify(userRepository, never()).save(any(User.class));
+        verify(refreshTokenService).revokeAllForUser(1L);
+        verify(tokenRevocationList).revokeUser(1L, 3);
+    }
+
+    @Test
+    @DisplayName("Should fail to revoke tokens of an unknown user")
+    void testRevokeTokens_NotFound() {
+        // Arrange
+        when(userRepository.incrementTokenVersion(99L)).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> userService.revokeTokens(99L));
+        verify(refreshTokenService, never()).revokeAllForUser(any());
+        verify(tokenRevocationList, never()).revokeUser(any(), anyInt());
     }
 
     @Test